@@ -0,0 +1,36 @@
+package com.ravekidd.v1.benchmark;
+
+import com.ravekidd.v1.service.helpers.ActionHelper;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Benchmarks parsing the IDs passed to the queries by IDs.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ActionHelperBenchmark {
+
+    @Param({"1", "10", "100"})
+    private int size;
+
+    private final ActionHelper actionHelper = new ActionHelper();
+    private String[] ids;
+
+    @Setup
+    public void setup() {
+        ids = IntStream.rangeClosed(1, size).mapToObj(String::valueOf).toArray(String[]::new);
+    }
+
+    @Benchmark
+    public List<Long> parseIds() {
+        return actionHelper.parseIds(ids);
+    }
+}
@@ -0,0 +1,41 @@
+package com.ravekidd.v1.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks encoding and matching passwords with BCrypt at several strengths.
+ * The application uses the default strength of 10.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+public class BCryptBenchmark {
+
+    @Param({"4", "10", "12"})
+    private int strength;
+
+    private BCryptPasswordEncoder encoder;
+    private String hash;
+
+    @Setup
+    public void setup() {
+        encoder = new BCryptPasswordEncoder(strength);
+        hash = encoder.encode("benchmark");
+    }
+
+    @Benchmark
+    public String encode() {
+        return encoder.encode("benchmark");
+    }
+
+    @Benchmark
+    public boolean matches() {
+        return encoder.matches("benchmark", hash);
+    }
+}
@@ -0,0 +1,34 @@
+package com.ravekidd.v1.benchmark;
+
+import com.ravekidd.v1.model.Post;
+import com.ravekidd.v1.service.helpers.InputHelper;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the input helpers used by every mutation and date query.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class InputHelperBenchmark {
+
+    private final InputHelper inputHelper = new InputHelper();
+
+    @Benchmark
+    public LocalDateTime transformStringToDateTime() {
+        return inputHelper.transformStringToDateTime("2024-01-15T18:30");
+    }
+
+    @Benchmark
+    public Post initInputPost() {
+        Post post = new Post();
+        inputHelper.initInputPost(post);
+        return post;
+    }
+}
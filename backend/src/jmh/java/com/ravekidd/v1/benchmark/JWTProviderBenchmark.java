@@ -0,0 +1,52 @@
+package com.ravekidd.v1.benchmark;
+
+import com.ravekidd.v1.security.token.JWTProvider;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks generating and validating JWT tokens.
+ * The cold benchmarks use a new provider per invocation, so every token is verified from scratch.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JWTProviderBenchmark {
+
+    private JWTProvider jwtProvider;
+    private Authentication authentication;
+    private String token;
+
+    @Setup
+    public void setup() {
+        jwtProvider = new JWTProvider();
+        authentication = new UsernamePasswordAuthenticationToken("benchmark", null);
+        token = jwtProvider.generateToken(authentication);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtProvider.generateToken(authentication);
+    }
+
+    @Benchmark
+    public boolean validateToken() {
+        return jwtProvider.validateToken(token);
+    }
+
+    @Benchmark
+    public String getUsernameFromJWT() {
+        return jwtProvider.getUsernameFromJWT(token);
+    }
+
+    @Benchmark
+    public String getUsernameFromJWTCold() {
+        return new JWTProvider().getUsernameFromJWT(token);
+    }
+}
@@ -0,0 +1,28 @@
+package com.ravekidd.v1.benchmark;
+
+import com.ravekidd.v1.consts.Messages;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks retrieving a message from the resource bundle.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MessagesBenchmark {
+
+    @Benchmark
+    public String get() {
+        return Messages.UNSUCCESSFUL_TOKEN_VALIDATION.get();
+    }
+
+    @Benchmark
+    public String getFormatted() {
+        return String.format(Messages.UNSUCCESSFUL_FIND_POST_BY_ID.get(), 42L);
+    }
+}
@@ -1,6 +1,11 @@
 package com.ravekidd.v1.configuration;
 
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.thread.Threading;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
 import org.springframework.scheduling.annotation.AsyncConfigurer;
 import org.springframework.scheduling.annotation.EnableAsync;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
@@ -9,11 +14,29 @@ import java.util.concurrent.Executor;
 
 /**
  * Configuration class for enabling asynchronous execution in the application.
+ * With spring.threads.virtual.enabled every asynchronous task runs on its own virtual thread,
+ * otherwise the tasks run on a pool of platform threads.
  */
 @EnableAsync
 @Configuration
 public class AsyncConfiguration implements AsyncConfigurer {
 
+    private final Environment environment;
+    private final int concurrencyLimit;
+
+    /**
+     * Constructor for AsyncConfiguration.
+     *
+     * @param environment      The environment holding the threading mode.
+     * @param concurrencyLimit The maximum number of concurrent virtual-thread tasks, or -1 for no limit.
+     */
+    @Autowired
+    public AsyncConfiguration(Environment environment,
+                              @Value("${ravekidd.async.concurrency-limit:-1}") int concurrencyLimit) {
+        this.environment = environment;
+        this.concurrencyLimit = concurrencyLimit;
+    }
+
     /**
      * Configures the asynchronous executor.
      *
@@ -21,6 +44,14 @@ public class AsyncConfiguration implements AsyncConfigurer {
      */
     @Override
     public Executor getAsyncExecutor() {
+
+        if (Threading.VIRTUAL.isActive(environment)) {
+            SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("Virtual-");
+            executor.setVirtualThreads(true);
+            executor.setConcurrencyLimit(concurrencyLimit);
+            return executor;
+        }
+
         ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
         executor.setCorePoolSize(1000);
         executor.setMaxPoolSize(2000);
@@ -0,0 +1,13 @@
+package com.ravekidd.v1.configuration;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration class for enabling caching in the application.
+ * The caches and their size and expiration are configured through the spring.cache properties.
+ */
+@EnableCaching
+@Configuration
+public class CacheConfiguration {
+}
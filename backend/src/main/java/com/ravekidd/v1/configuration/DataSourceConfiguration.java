@@ -0,0 +1,67 @@
+package com.ravekidd.v1.configuration;
+
+import com.ravekidd.v1.datasource.ConcurrencyLimitedDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+
+import java.time.Duration;
+
+/**
+ * Configuration class for the DataSource.
+ */
+@Configuration
+public class DataSourceConfiguration {
+
+    /**
+     * Puts a semaphore in front of the connection pool bean when running on virtual threads.
+     * The number of permits defaults to the maximum size of the pool.
+     *
+     * @param environment The environment holding the limits.
+     * @return The post processor wrapping the pool.
+     */
+    @Bean
+    @ConditionalOnThreading(Threading.VIRTUAL)
+    static BeanPostProcessor concurrencyLimitedDataSourcePostProcessor(Environment environment) {
+        return new ConcurrencyLimitingPostProcessor(environment);
+    }
+
+    /**
+     * Post processor wrapping the Hikari pool. It is ordered, so it runs before the unordered post processors
+     * wrapping the DataSource bean in turn and still finds the pool itself.
+     */
+    private static class ConcurrencyLimitingPostProcessor implements BeanPostProcessor, Ordered {
+
+        private final Environment environment;
+
+        ConcurrencyLimitingPostProcessor(Environment environment) {
+            this.environment = environment;
+        }
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+
+            if (!(bean instanceof HikariDataSource dataSource)) {
+                return bean;
+            }
+
+            int maxConnections = environment.getProperty("ravekidd.datasource.max-concurrent-connections",
+                    Integer.class, environment.getProperty("spring.datasource.hikari.maximum-pool-size",
+                            Integer.class, 10));
+            Duration acquireTimeout = environment.getProperty("ravekidd.datasource.acquire-timeout",
+                    Duration.class, Duration.ofSeconds(30));
+
+            return new ConcurrencyLimitedDataSource(dataSource, maxConnections, acquireTimeout);
+        }
+
+        @Override
+        public int getOrder() {
+            return Ordered.LOWEST_PRECEDENCE;
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.ravekidd.v1.configuration;
+
+import com.ravekidd.v1.monitoring.QueryCostProperties;
+import com.ravekidd.v1.monitoring.StatisticsDataSource;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/**
+ * Configuration class attributing the SQL statements of the application DataSource to GraphQL operations
+ * and binding the ceilings of the GraphQL cost analysis.
+ */
+@Configuration
+@EnableConfigurationProperties(QueryCostProperties.class)
+public class MonitoringConfiguration {
+
+    private static final String DATA_SOURCE_BEAN = "dataSource";
+
+    /**
+     * Wraps the DataSource of the application, so the statements of JPA and the JdbcTemplate are counted alike.
+     * Runs after the ordered post processors, so the counting sits outside the connection semaphore.
+     *
+     * @return The post processor wrapping the DataSource.
+     */
+    @Bean
+    static BeanPostProcessor statisticsDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+
+                if (bean instanceof DataSource dataSource && beanName.equals(DATA_SOURCE_BEAN)) {
+                    return new StatisticsDataSource(dataSource);
+                }
+
+                return bean;
+            }
+        };
+    }
+}
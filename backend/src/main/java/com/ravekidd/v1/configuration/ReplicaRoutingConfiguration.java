@@ -0,0 +1,126 @@
+package com.ravekidd.v1.configuration;
+
+import com.ravekidd.v1.datasource.ConcurrencyLimitedDataSource;
+import com.ravekidd.v1.datasource.ReplicaRoutingDataSource;
+import com.ravekidd.v1.datasource.ReplicationProperties;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.flyway.FlywayDataSource;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Configuration class for routing the read-only transactions to the read replicas.
+ * Only active when at least one replica is configured; otherwise every transaction uses the single
+ * auto-configured DataSource.
+ */
+@Configuration
+@EnableConfigurationProperties(ReplicationProperties.class)
+@ConditionalOnProperty(name = "ravekidd.datasource.replication.replicas[0].url")
+public class ReplicaRoutingConfiguration {
+
+    /**
+     * Configures the pool of the primary database from the spring.datasource properties.
+     * The schema migrations always run against the primary.
+     *
+     * @param properties The spring.datasource properties.
+     * @return The primary DataSource.
+     */
+    @Bean
+    @FlywayDataSource
+    @ConfigurationProperties("spring.datasource.hikari")
+    DataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    /**
+     * Configures the routing between the primary and the replicas. The replica pools are read-only
+     * and publish their metrics like the primary pool. When running on virtual threads, each replica pool
+     * gets a semaphore admitting as many threads as it has connections, like the primary pool.
+     *
+     * @param primaryDataSource The primary DataSource.
+     * @param properties        The spring.datasource properties, used for the driver.
+     * @param replication       The replication properties.
+     * @param meterRegistry     The registry of the pool and lag meters.
+     * @param environment       The environment holding the threading mode and the acquire timeout.
+     * @return The routing DataSource.
+     */
+    @Bean
+    ReplicaRoutingDataSource replicaRoutingDataSource(@Qualifier("primaryDataSource") DataSource primaryDataSource,
+                                                      DataSourceProperties properties,
+                                                      ReplicationProperties replication,
+                                                      MeterRegistry meterRegistry,
+                                                      Environment environment) {
+
+        boolean limited = Threading.VIRTUAL.isActive(environment);
+        Duration acquireTimeout = environment.getProperty("ravekidd.datasource.acquire-timeout",
+                Duration.class, Duration.ofSeconds(30));
+
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        List<ReplicationProperties.Replica> configured = replication.replicas();
+
+        for (int i = 0; i < configured.size(); i++) {
+
+            ReplicationProperties.Replica replica = configured.get(i);
+            HikariDataSource pool = new HikariDataSource();
+
+            pool.setPoolName("Replica-" + i);
+            pool.setDriverClassName(properties.determineDriverClassName());
+            pool.setJdbcUrl(replica.url());
+            pool.setUsername(replica.username());
+            pool.setPassword(replica.password());
+            pool.setMaximumPoolSize(replica.maximumPoolSize() == null ? 20 : replica.maximumPoolSize());
+            pool.setReadOnly(true);
+            pool.setMetricRegistry(meterRegistry);
+
+            replicas.put(pool.getPoolName(), limited
+                    ? new ConcurrencyLimitedDataSource(pool, pool.getMaximumPoolSize(), acquireTimeout)
+                    : pool);
+        }
+
+        return new ReplicaRoutingDataSource(primaryDataSource, replicas, replication.maxLag(), meterRegistry);
+    }
+
+    /**
+     * Schedules the replication lag check at the configured interval.
+     *
+     * @param routingDataSource The routing DataSource.
+     * @param replication       The replication properties.
+     * @return The configurer registering the check.
+     */
+    @Bean
+    SchedulingConfigurer replicationLagCheck(ReplicaRoutingDataSource routingDataSource,
+                                             ReplicationProperties replication) {
+        return registrar -> registrar.addFixedDelayTask(routingDataSource::checkReplicationLag,
+                replication.lagCheckInterval());
+    }
+
+    /**
+     * Configures the DataSource used by JPA. The lazy proxy defers getting a connection until the first statement,
+     * when the read-only flag of the transaction is already set.
+     *
+     * @param routingDataSource The routing DataSource.
+     * @return The DataSource of the application.
+     */
+    @Bean
+    @Primary
+    DataSource dataSource(ReplicaRoutingDataSource routingDataSource) {
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+}
@@ -0,0 +1,12 @@
+package com.ravekidd.v1.configuration;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Configuration class for enabling scheduled background jobs in the application.
+ */
+@EnableScheduling
+@Configuration
+public class SchedulingConfiguration {
+}
@@ -139,7 +139,7 @@ public class SecurityConfiguration {
      * @return An instance of the MethodValidationPostProcessor class.
      */
     @Bean
-    public MethodValidationPostProcessor methodValidationPostProcessor() {
+    public static MethodValidationPostProcessor methodValidationPostProcessor() {
         return new MethodValidationPostProcessor();
     }
 }
@@ -17,8 +17,31 @@ public interface Constants {
     String QUERY_USER_ID = "id";
     String QUERY_USER_USERNAME = "username";
 
+    // Pagination
+    int PAGE_SIZE_DEFAULT = 20;
+    int PAGE_SIZE_MAX = 100;
+
+    // Bulk mutations
+    int BULK_SIZE_MAX = 500;
+
+    // ID generation
+    int ID_ALLOCATION_SIZE = 50;
+
+    // Data loaders
+    String LOADER_USERS = "users";
+    String LOADER_POST_LIKES = "postLikes";
+    String LOADER_POST_COMMENTS = "postComments";
+    String LOADER_COMMENT_LIKES = "commentLikes";
+    String LOADER_POST_MEDIA = "postMedia";
+    String LOADER_USER_POSTS = "userPosts";
+
+    // Caches
+    String CACHE_USER_DETAILS = "userDetails";
+    String CACHE_CELEBRITIES = "celebrities";
+
     // Security
     Duration JWT_EXPIRATION = Duration.ofDays(7);
+    int JWT_VERIFIED_CACHE_SIZE = 10_000;
     Key KEY = Keys.secretKeyFor(SignatureAlgorithm.HS512);
 
     // Roles
@@ -27,13 +27,31 @@ public enum Messages {
     UNSUCCESSFUL_FIND_USERS_BY_USERNAMES("No users found for the provided usernames: "),
     UNSUCCESSFUL_FIND_USERS("No users found."),
     UNSUCCESSFUL_AUTHENTICATION("User was not authenticated."),
+    UNSUCCESSFUL_FOLLOW_SELF("Users cannot follow themselves."),
 
     // Posts
     UNSUCCESSFUL_FIND_POST_BY_ID("Post with ID %d was not found."),
+    UNSUCCESSFUL_FIND_COMMENT_BY_ID("Comment with ID %d was not found on post %d."),
     UNSUCCESSFUL_FIND_POSTS_BY_IDS("No posts found for the provided IDs: "),
     UNSUCCESSFUL_FIND_POSTS_BY_USER_IDS("No posts found for the provided user IDs: "),
     UNSUCCESSFUL_FIND_POSTS_BETWEEN_DATES("Posts between dates %s and %s were not found."),
     UNSUCCESSFUL_FIND_POSTS("No posts found."),
+    UNSUCCESSFUL_SEARCH("Search could not be executed."),
+    UNSUCCESSFUL_DELETE_POST_BY_ID("Post with ID %d could not be deleted by the user."),
+    UNSUCCESSFUL_BLANK_COMMENT("Content cannot be blank."),
+    UNSUCCESSFUL_BLANK_DESCRIPTION("Description cannot be blank."),
+    UNSUCCESSFUL_INVALID_DATE("Date %s is invalid."),
+    UNSUCCESSFUL_IMPORT_COMMENT("Comment %d of the post is invalid: %s"),
+    UNSUCCESSFUL_INVALID_DATE_RANGE("Date %s is after date %s."),
+    UNSUCCESSFUL_FILTER_SIZE("At most %d IDs are allowed in a filter."),
+
+    // Pagination
+    UNSUCCESSFUL_INVALID_CURSOR("Cursor %s is invalid."),
+
+    // Queries
+    UNSUCCESSFUL_QUERY_DEPTH("Query exceeds the maximum depth of %d."),
+    UNSUCCESSFUL_QUERY_COST("Query cost %d exceeds the maximum cost of %d."),
+    UNSUCCESSFUL_QUERY_SIZE("At most %d values are allowed in a query parameter."),
 
     ;
     private static final ResourceBundle bundle = ResourceBundle.getBundle(Constants.BUNDLE_MESSAGES, Locale.ENGLISH);
@@ -3,21 +3,36 @@ package com.ravekidd.v1.controller.graphQL;
 import com.ravekidd.v1.exception.ServerException;
 import com.ravekidd.v1.model.Post;
 import com.ravekidd.v1.model.PostComment;
+import com.ravekidd.v1.model.PostView;
+import com.ravekidd.v1.model.bulk.BulkCommentInput;
+import com.ravekidd.v1.model.bulk.BulkResult;
+import com.ravekidd.v1.model.bulk.ImportPostInput;
+import com.ravekidd.v1.model.connection.Connection;
+import com.ravekidd.v1.model.filter.PostFilter;
+import com.ravekidd.v1.service.helpers.FetchPlanHelper;
 import com.ravekidd.v1.service.interfaces.IPostService;
+import graphql.schema.DataFetchingFieldSelectionSet;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.graphql.data.method.annotation.Argument;
 import org.springframework.graphql.data.method.annotation.MutationMapping;
 import org.springframework.graphql.data.method.annotation.QueryMapping;
+import org.springframework.security.access.annotation.Secured;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.RequestParam;
 
 import java.util.List;
 
+import static com.ravekidd.v1.consts.Constants.BULK_SIZE_MAX;
+import static com.ravekidd.v1.consts.Constants.ROLE_ADMIN;
+
 /**
  * GraphQL Controller handling post-related operations.
  */
@@ -29,32 +44,103 @@ public class PostController {
      */
     private final IPostService service;
 
+    /**
+     * Helper planning the associations fetched by the queries
+     */
+    private final FetchPlanHelper fetchPlanHelper;
+
     /**
      * Constructor for PostController.
      *
-     * @param service An implementation of the IPostService interface.
+     * @param service         An implementation of the IPostService interface.
+     * @param fetchPlanHelper Helper class for planning the associations fetched by the queries.
      */
     @Autowired
-    public PostController(IPostService service) {
+    public PostController(IPostService service, FetchPlanHelper fetchPlanHelper) {
         this.service = service;
+        this.fetchPlanHelper = fetchPlanHelper;
     }
 
     /**
-     * GraphQL Query mapping. Finds posts based on the provided query and parameter.
+     * GraphQL Query mapping. Finds posts based on the provided filter, or on the provided query and parameter.
      *
      * @param query          The search query.
      * @param parameter      Additional parameter for filtering.
+     * @param filter         The filter of the posts, taking precedence over the query.
+     * @param selectionSet   The fields selected on the posts, planning the associations fetched with them.
      * @param authentication Authentication object representing the current user.
      * @return List of posts matching the criteria.
      * @throws ServerException If an error occurs during the operation.
      */
     @QueryMapping
-    public List<Post> getPosts(@Pattern(regexp = "^(id|user|date)$", message = "Allowed queries: [id, user, date]")
-                               @Argument @RequestParam(required = false) String query,
-                               @Argument @RequestParam(required = false) String parameter,
-                               Authentication authentication) throws ServerException {
+    public List<PostView> getPosts(@Pattern(regexp = "^(id|user|date)$", message = "Allowed queries: [id, user, date]")
+                                   @Argument @RequestParam(required = false) String query,
+                                   @Argument @RequestParam(required = false) String parameter,
+                                   @Argument PostFilter filter,
+                                   DataFetchingFieldSelectionSet selectionSet,
+                                   Authentication authentication) throws ServerException {
+
+        return service.getPosts(query, parameter, filter, fetchPlanHelper.planPosts(selectionSet), authentication);
+    }
+
+    /**
+     * GraphQL Query mapping. Retrieves a page of posts, ordered from the newest to the oldest.
+     *
+     * @param first          Maximum number of posts in the page.
+     * @param after          Cursor of the last post of the previous page.
+     * @param authentication Authentication object representing the current user.
+     * @return Connection holding the page of posts.
+     * @throws ServerException If an error occurs during the operation.
+     */
+    @QueryMapping
+    public Connection<PostView> getPostsConnection(@Min(value = 1, message = "First must be at least 1.")
+                                                   @Argument Integer first,
+                                                   @Argument String after,
+                                                   Authentication authentication) throws ServerException {
+
+        return service.getPostsConnection(first, after, authentication);
+    }
+
+    /**
+     * GraphQL Query mapping. Retrieves a page of the home feed of the authenticated user, holding the posts
+     * of the followed users ordered from the newest to the oldest.
+     *
+     * @param first          Maximum number of posts in the page.
+     * @param after          Cursor of the last post of the previous page.
+     * @param authentication Authentication object representing the current user.
+     * @return Connection holding the page of the feed.
+     * @throws ServerException If an error occurs during the operation.
+     */
+    @QueryMapping
+    public Connection<PostView> getFeed(@Min(value = 1, message = "First must be at least 1.")
+                                        @Argument Integer first,
+                                        @Argument String after,
+                                        Authentication authentication) throws ServerException {
 
-        return service.getPosts(query, parameter, authentication);
+        return service.getFeed(first, after, authentication);
+    }
+
+    /**
+     * GraphQL Query mapping. Searches posts by their description, link and author username, ordered by relevance.
+     *
+     * @param text           The searched text.
+     * @param first          Maximum number of posts in the page.
+     * @param after          Cursor of the last post of the previous page.
+     * @param authentication Authentication object representing the current user.
+     * @return Connection holding the page of matching posts.
+     * @throws ServerException If an error occurs during the operation.
+     */
+    @QueryMapping
+    public Connection<PostView> searchPosts(@NotBlank(message = "Search text cannot be blank.")
+                                            @Size(max = 200,
+                                                    message = "Search text must be at most 200 characters long.")
+                                            @Argument String text,
+                                            @Min(value = 1, message = "First must be at least 1.")
+                                            @Argument Integer first,
+                                            @Argument String after,
+                                            Authentication authentication) throws ServerException {
+
+        return service.searchPosts(text, first, after, authentication);
     }
 
     /**
@@ -219,4 +305,77 @@ public class PostController {
 
         return service.unlikeComment(postId, commentId, authentication);
     }
+
+    /**
+     * GraphQL Mutation mapping. Likes several posts in one transaction.
+     *
+     * @param postIds        The IDs of the posts to be liked.
+     * @param authentication Authentication object representing the current user.
+     * @return The result of every post.
+     * @throws ServerException If an error occurs during the operation.
+     */
+    @MutationMapping
+    public BulkResult likePosts(@NotEmpty(message = "IDs cannot be empty.")
+                                @Size(max = BULK_SIZE_MAX, message = "At most " + BULK_SIZE_MAX + " IDs are allowed.")
+                                @Argument List<@NotNull(message = "ID cannot be null.") Long> postIds,
+                                Authentication authentication) throws ServerException {
+
+        return service.likePosts(postIds, authentication);
+    }
+
+    /**
+     * GraphQL Mutation mapping. Deletes several posts in one transaction.
+     *
+     * @param postIds        The IDs of the posts to be deleted.
+     * @param authentication Authentication object representing the current user.
+     * @return The result of every post.
+     * @throws ServerException If an error occurs during the operation.
+     */
+    @MutationMapping
+    public BulkResult deletePosts(@NotEmpty(message = "IDs cannot be empty.")
+                                  @Size(max = BULK_SIZE_MAX, message = "At most " + BULK_SIZE_MAX + " IDs are allowed.")
+                                  @Argument List<@NotNull(message = "ID cannot be null.") Long> postIds,
+                                  Authentication authentication) throws ServerException {
+
+        return service.deletePosts(postIds, authentication);
+    }
+
+    /**
+     * GraphQL Mutation mapping. Adds several comments in one transaction.
+     *
+     * @param comments       The comments to be added, each with the ID of its post.
+     * @param authentication Authentication object representing the current user.
+     * @return The result of every comment.
+     * @throws ServerException If an error occurs during the operation.
+     */
+    @MutationMapping
+    public BulkResult addComments(@NotEmpty(message = "Comments cannot be empty.")
+                                  @Size(max = BULK_SIZE_MAX,
+                                          message = "At most " + BULK_SIZE_MAX + " comments are allowed.")
+                                  @Argument
+                                  List<@NotNull(message = "Comment cannot be null.") BulkCommentInput> comments,
+                                  Authentication authentication) throws ServerException {
+
+        return service.addComments(comments, authentication);
+    }
+
+    /**
+     * GraphQL Mutation mapping. Imports posts with their comments in one transaction. Requires ADMIN role.
+     *
+     * @param posts          The posts to be imported, each with the ID of its author.
+     * @param authentication Authentication object representing the current user.
+     * @return The result of every post.
+     * @throws ServerException If an error occurs during the operation.
+     */
+    @MutationMapping
+    @Secured(ROLE_ADMIN)
+    public BulkResult importPosts(@NotEmpty(message = "Posts cannot be empty.")
+                                  @Size(max = BULK_SIZE_MAX,
+                                          message = "At most " + BULK_SIZE_MAX + " posts are allowed.")
+                                  @Argument
+                                  List<@NotNull(message = "Post cannot be null.") ImportPostInput> posts,
+                                  Authentication authentication) throws ServerException {
+
+        return service.importPosts(posts, authentication);
+    }
 }
\ No newline at end of file
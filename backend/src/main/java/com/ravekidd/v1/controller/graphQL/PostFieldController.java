@@ -0,0 +1,232 @@
+package com.ravekidd.v1.controller.graphQL;
+
+import com.ravekidd.v1.datasource.PrimaryPinningInstrumentation;
+import com.ravekidd.v1.model.PostComment;
+import com.ravekidd.v1.model.PostLinkMetadata;
+import com.ravekidd.v1.model.PostSource;
+import com.ravekidd.v1.model.PostView;
+import com.ravekidd.v1.model.User;
+import com.ravekidd.v1.model.connection.Connection;
+import com.ravekidd.v1.model.connection.PageKey;
+import com.ravekidd.v1.monitoring.QueryStatistics;
+import com.ravekidd.v1.service.interfaces.IPostService;
+import com.ravekidd.v1.service.interfaces.IUserService;
+import graphql.schema.DataFetchingEnvironment;
+import jakarta.validation.constraints.Min;
+import org.dataloader.BatchLoaderEnvironment;
+import org.dataloader.DataLoader;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.graphql.data.method.annotation.Argument;
+import org.springframework.graphql.data.method.annotation.SchemaMapping;
+import org.springframework.graphql.execution.BatchLoaderRegistry;
+import org.springframework.stereotype.Controller;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+
+import static com.ravekidd.v1.consts.Constants.*;
+
+/**
+ * GraphQL Controller resolving the associations of posts, comments and users.
+ * Each association is loaded through a DataLoader, so a field is fetched with one query per request level
+ * instead of one query per parent. The statements of a batch are attributed to the scope of its loader,
+ * and the batches of a mutation read from the primary.
+ * The collections are paginated per parent, so a nested selection never loads more than a page of children
+ * for each parent.
+ * Post fields accept both the entities returned by the mutations and the projections returned by the queries.
+ * The author of a projection is taken from the projection when its query joined it.
+ */
+@Controller
+public class PostFieldController {
+
+    /**
+     * Constructor for PostFieldController. Registers the batch loaders used by the field resolvers.
+     *
+     * @param postService An implementation of the IPostService interface.
+     * @param userService An implementation of the IUserService interface.
+     * @param registry    The registry of batch loaders for the GraphQL requests.
+     */
+    @Autowired
+    public PostFieldController(IPostService postService, IUserService userService, BatchLoaderRegistry registry) {
+
+        registry.<Long, User>forName(LOADER_USERS)
+                .registerMappedBatchLoader((ids, env) -> load(LOADER_USERS, env,
+                        () -> userService.getUsersByIds(ids)));
+
+        registry.<PageKey, Connection<User>>forName(LOADER_POST_LIKES)
+                .registerMappedBatchLoader((ids, env) -> load(LOADER_POST_LIKES, env,
+                        () -> postService.getPostLikes(ids)));
+
+        registry.<PageKey, Connection<PostComment>>forName(LOADER_POST_COMMENTS)
+                .registerMappedBatchLoader((ids, env) -> load(LOADER_POST_COMMENTS, env,
+                        () -> postService.getPostComments(ids)));
+
+        registry.<PageKey, Connection<User>>forName(LOADER_COMMENT_LIKES)
+                .registerMappedBatchLoader((ids, env) -> load(LOADER_COMMENT_LIKES, env,
+                        () -> postService.getCommentLikes(ids)));
+
+        registry.<Long, PostLinkMetadata>forName(LOADER_POST_MEDIA)
+                .registerMappedBatchLoader((ids, env) -> load(LOADER_POST_MEDIA, env,
+                        () -> postService.getPostMedia(ids)));
+
+        registry.<PageKey, Connection<PostView>>forName(LOADER_USER_POSTS)
+                .registerMappedBatchLoader((ids, env) -> load(LOADER_USER_POSTS, env,
+                        () -> postService.getUserPosts(ids)));
+    }
+
+    /**
+     * GraphQL Schema mapping. Resolves the author of a post.
+     *
+     * @param post The post.
+     * @param env  The data fetching environment.
+     * @return The author of the post.
+     */
+    @SchemaMapping(typeName = "Post", field = "user")
+    public CompletableFuture<User> postUser(PostSource post, DataFetchingEnvironment env) {
+
+        if (post instanceof PostView view && view.getAuthor() != null) {
+            return CompletableFuture.completedFuture(view.getAuthor());
+        }
+        return loadUser(post.getUserId(), env);
+    }
+
+    /**
+     * GraphQL Schema mapping. Resolves a page of the users who liked a post, counted by the like counter.
+     *
+     * @param post  The post.
+     * @param first Maximum number of users in the page.
+     * @param after Cursor of the last user of the previous page.
+     * @param env   The data fetching environment.
+     * @return Connection holding the page of users who liked the post.
+     */
+    @SchemaMapping(typeName = "Post", field = "likes")
+    public CompletableFuture<Connection<User>> postLikes(PostSource post,
+                                                         @Min(value = 1, message = "First must be at least 1.")
+                                                         @Argument Integer first,
+                                                         @Argument String after,
+                                                         DataFetchingEnvironment env) {
+
+        DataLoader<PageKey, Connection<User>> loader = env.getDataLoader(LOADER_POST_LIKES);
+        return loader.load(new PageKey(post.getId(), first, after))
+                .thenApply(page -> page.withTotalCount(post.getLikeCount()));
+    }
+
+    /**
+     * GraphQL Schema mapping. Resolves a page of the comments of a post, counted by the comment counter.
+     *
+     * @param post  The post.
+     * @param first Maximum number of comments in the page.
+     * @param after Cursor of the last comment of the previous page.
+     * @param env   The data fetching environment.
+     * @return Connection holding the page of comments of the post.
+     */
+    @SchemaMapping(typeName = "Post", field = "comments")
+    public CompletableFuture<Connection<PostComment>> postComments(PostSource post,
+                                                                   @Min(value = 1,
+                                                                           message = "First must be at least 1.")
+                                                                   @Argument Integer first,
+                                                                   @Argument String after,
+                                                                   DataFetchingEnvironment env) {
+
+        DataLoader<PageKey, Connection<PostComment>> loader = env.getDataLoader(LOADER_POST_COMMENTS);
+        return loader.load(new PageKey(post.getId(), first, after))
+                .thenApply(page -> page.withTotalCount(post.getCommentCount()));
+    }
+
+    /**
+     * GraphQL Schema mapping. Resolves the metadata of the link of a post, null until the link is resolved.
+     *
+     * @param post The post.
+     * @param env  The data fetching environment.
+     * @return The metadata of the link of the post.
+     */
+    @SchemaMapping(typeName = "Post", field = "media")
+    public CompletableFuture<PostLinkMetadata> postMedia(PostSource post, DataFetchingEnvironment env) {
+        DataLoader<Long, PostLinkMetadata> loader = env.getDataLoader(LOADER_POST_MEDIA);
+        return loader.load(post.getId());
+    }
+
+    /**
+     * GraphQL Schema mapping. Resolves the author of a comment.
+     *
+     * @param comment The comment.
+     * @param env     The data fetching environment.
+     * @return The author of the comment.
+     */
+    @SchemaMapping(typeName = "PostComment", field = "user")
+    public CompletableFuture<User> commentUser(PostComment comment, DataFetchingEnvironment env) {
+        // Only the ID of the lazy reference is read, so the reference itself is never initialized.
+        return loadUser(comment.getUser() == null ? null : comment.getUser().getId(), env);
+    }
+
+    /**
+     * GraphQL Schema mapping. Resolves a page of the users who liked a comment, counted by the like counter.
+     *
+     * @param comment The comment.
+     * @param first   Maximum number of users in the page.
+     * @param after   Cursor of the last user of the previous page.
+     * @param env     The data fetching environment.
+     * @return Connection holding the page of users who liked the comment.
+     */
+    @SchemaMapping(typeName = "PostComment", field = "likes")
+    public CompletableFuture<Connection<User>> commentLikes(PostComment comment,
+                                                            @Min(value = 1, message = "First must be at least 1.")
+                                                            @Argument Integer first,
+                                                            @Argument String after,
+                                                            DataFetchingEnvironment env) {
+
+        DataLoader<PageKey, Connection<User>> loader = env.getDataLoader(LOADER_COMMENT_LIKES);
+        return loader.load(new PageKey(comment.getId(), first, after))
+                .thenApply(page -> page.withTotalCount(comment.getLikeCount()));
+    }
+
+    /**
+     * GraphQL Schema mapping. Resolves a page of the posts of a user, ordered from the newest to the oldest.
+     *
+     * @param user  The user.
+     * @param first Maximum number of posts in the page.
+     * @param after Cursor of the last post of the previous page.
+     * @param env   The data fetching environment.
+     * @return Connection holding the page of posts of the user.
+     */
+    @SchemaMapping(typeName = "User", field = "posts")
+    public CompletableFuture<Connection<PostView>> userPosts(User user,
+                                                             @Min(value = 1, message = "First must be at least 1.")
+                                                             @Argument Integer first,
+                                                             @Argument String after,
+                                                             DataFetchingEnvironment env) {
+
+        DataLoader<PageKey, Connection<PostView>> loader = env.getDataLoader(LOADER_USER_POSTS);
+        return loader.load(new PageKey(user.getId(), first, after));
+    }
+
+    /**
+     * Loads a user through the users DataLoader.
+     *
+     * @param userId The ID of the user, or null.
+     * @param env    The data fetching environment.
+     * @return The loaded user.
+     */
+    private CompletableFuture<User> loadUser(Long userId, DataFetchingEnvironment env) {
+
+        if (userId == null) {
+            return CompletableFuture.completedFuture(null);
+        }
+        DataLoader<Long, User> loader = env.getDataLoader(LOADER_USERS);
+        return loader.load(userId);
+    }
+
+    /**
+     * Runs a batch load within the statistics scope of its loader, on the primary if the operation is a mutation.
+     *
+     * @param scope  The name of the loader.
+     * @param env    The environment of the batch load.
+     * @param loader The batch load.
+     * @return Mono of the loaded values.
+     */
+    private static <T> Mono<T> load(String scope, BatchLoaderEnvironment env, Callable<T> loader) {
+        return Mono.fromCallable(() -> PrimaryPinningInstrumentation.withinOperation(env.getContext(),
+                () -> QueryStatistics.withinScope(scope, loader)));
+    }
+}
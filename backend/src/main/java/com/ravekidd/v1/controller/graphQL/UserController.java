@@ -3,7 +3,10 @@ package com.ravekidd.v1.controller.graphQL;
 import com.ravekidd.v1.exception.ServerException;
 import com.ravekidd.v1.model.User;
 import com.ravekidd.v1.model.auth.AuthenticationResponse;
+import com.ravekidd.v1.model.connection.Connection;
+import com.ravekidd.v1.service.helpers.FetchPlanHelper;
 import com.ravekidd.v1.service.interfaces.IUserService;
+import graphql.schema.DataFetchingFieldSelectionSet;
 import jakarta.validation.constraints.*;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.graphql.data.method.annotation.Argument;
@@ -29,14 +32,21 @@ public class UserController {
      */
     private final IUserService service;
 
+    /**
+     * Helper planning the associations fetched by the queries
+     */
+    private final FetchPlanHelper fetchPlanHelper;
+
     /**
      * Constructor for UserController.
      *
-     * @param service An implementation of the IUserService interface.
+     * @param service         An implementation of the IUserService interface.
+     * @param fetchPlanHelper Helper class for planning the associations fetched by the queries.
      */
     @Autowired
-    public UserController(IUserService service) {
+    public UserController(IUserService service, FetchPlanHelper fetchPlanHelper) {
         this.service = service;
+        this.fetchPlanHelper = fetchPlanHelper;
     }
 
     /**
@@ -44,6 +54,7 @@ public class UserController {
      *
      * @param query          The search query.
      * @param parameter      Additional parameter for filtering.
+     * @param selectionSet   The fields selected on the users, planning the associations fetched with them.
      * @param authentication Authentication object representing the current user.
      * @return List of users matching the criteria.
      * @throws ServerException If an error occurs during the operation.
@@ -52,10 +63,29 @@ public class UserController {
     public List<User> getUsers(
             @Pattern(regexp = "^(id|username)$", message = "Allowed queries: [id, username]")
             @Argument @RequestParam(required = false) String query,
-            @Argument @RequestParam(required = false) String parameter, Authentication authentication)
+            @Argument @RequestParam(required = false) String parameter,
+            DataFetchingFieldSelectionSet selectionSet, Authentication authentication)
             throws ServerException {
 
-        return service.getUsers(query, parameter, authentication);
+        return service.getUsers(query, parameter, fetchPlanHelper.planUsers(selectionSet), authentication);
+    }
+
+    /**
+     * GraphQL Query mapping. Retrieves a page of users, ordered by their ID.
+     *
+     * @param first          Maximum number of users in the page.
+     * @param after          Cursor of the last user of the previous page.
+     * @param authentication Authentication object representing the current user.
+     * @return Connection holding the page of users.
+     * @throws ServerException If an error occurs during the operation.
+     */
+    @QueryMapping
+    public Connection<User> getUsersConnection(@Min(value = 1, message = "First must be at least 1.")
+                                               @Argument Integer first,
+                                               @Argument String after,
+                                               Authentication authentication) throws ServerException {
+
+        return service.getUsersConnection(first, after, authentication);
     }
 
     /**
@@ -75,6 +105,38 @@ public class UserController {
         return service.deleteUser(id, authentication);
     }
 
+    /**
+     * GraphQL Mutation mapping. Makes the authenticated user follow a user.
+     *
+     * @param userId         The ID of the user to follow.
+     * @param authentication Authentication object representing the current user.
+     * @return The followed user.
+     * @throws ServerException If an error occurs during the operation.
+     */
+    @MutationMapping
+    public User followUser(@Min(value = 1, message = "ID must be at least 1.")
+                           @NotNull(message = "ID cannot be null.")
+                           @Argument Long userId, Authentication authentication) throws ServerException {
+
+        return service.followUser(userId, authentication);
+    }
+
+    /**
+     * GraphQL Mutation mapping. Makes the authenticated user unfollow a user.
+     *
+     * @param userId         The ID of the user to unfollow.
+     * @param authentication Authentication object representing the current user.
+     * @return The unfollowed user.
+     * @throws ServerException If an error occurs during the operation.
+     */
+    @MutationMapping
+    public User unfollowUser(@Min(value = 1, message = "ID must be at least 1.")
+                             @NotNull(message = "ID cannot be null.")
+                             @Argument Long userId, Authentication authentication) throws ServerException {
+
+        return service.unfollowUser(userId, authentication);
+    }
+
     /**
      * GraphQL Mutation mapping. Changes the username for the authenticated user.
      *
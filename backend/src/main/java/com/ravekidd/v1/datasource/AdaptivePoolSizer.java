@@ -0,0 +1,177 @@
+package com.ravekidd.v1.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Component sizing the Hikari pool from the observed load. By Little's law the connections in use equal
+ * the rate of borrowed connections times the time a connection is held, both taken from the Hikari usage timer.
+ * The pool is sized to that concurrency plus headroom, grows while threads are waiting for a connection,
+ * and is kept between the configured bounds. Shrinking is limited to one step per interval, so a short lull
+ * does not drain the pool. When the pool sits behind a {@link ConcurrencyLimitedDataSource}, its permits are
+ * resized with the pool, the threads waiting for a permit count as waiting for a connection, and the time spent
+ * waiting for a permit is published. The active and waiting connections are sampled into histograms.
+ */
+@Component
+@ConditionalOnProperty(name = "ravekidd.datasource.pool.adaptive", havingValue = "true", matchIfMissing = true)
+public class AdaptivePoolSizer {
+
+    private static final Logger LOG = LogManager.getLogger(AdaptivePoolSizer.class);
+    private static final String USAGE_TIMER = "hikaricp.connections.usage";
+    private final HikariDataSource hikari;
+    private final ConcurrencyLimitedDataSource limiter;
+    private final MeterRegistry meterRegistry;
+    private final int minSize;
+    private final int maxSize;
+    private final double headroom;
+    private final AtomicInteger targetSize = new AtomicInteger();
+    private final DistributionSummary activeConnections;
+    private final DistributionSummary waitingThreads;
+    private final AtomicInteger peakWaiting = new AtomicInteger();
+    private long lastUsageCount;
+    private double lastUsageMillis;
+    private long lastResize = System.nanoTime();
+
+    /**
+     * Constructor for AdaptivePoolSizer.
+     *
+     * @param dataSource    The DataSource backed by the Hikari pool.
+     * @param meterRegistry The registry of the Hikari and pool meters.
+     * @param minSize       The minimum size of the pool.
+     * @param maxSize       The maximum size of the pool.
+     * @param headroom      The factor applied to the observed concurrency.
+     * @throws SQLException If the DataSource is not backed by a Hikari pool.
+     */
+    @Autowired
+    public AdaptivePoolSizer(DataSource dataSource,
+                             MeterRegistry meterRegistry,
+                             @Value("${ravekidd.datasource.pool.min-size:5}") int minSize,
+                             @Value("${ravekidd.datasource.pool.max-size:50}") int maxSize,
+                             @Value("${ravekidd.datasource.pool.headroom:1.5}") double headroom) throws SQLException {
+        this.hikari = dataSource.unwrap(HikariDataSource.class);
+        this.limiter = dataSource.isWrapperFor(ConcurrencyLimitedDataSource.class)
+                ? dataSource.unwrap(ConcurrencyLimitedDataSource.class)
+                : null;
+        this.meterRegistry = meterRegistry;
+        this.minSize = minSize;
+        this.maxSize = maxSize;
+        this.headroom = headroom;
+        this.targetSize.set(hikari.getMaximumPoolSize());
+
+        Timer usage = usageTimer();
+
+        if (usage != null) {
+            this.lastUsageCount = usage.count();
+            this.lastUsageMillis = usage.totalTime(TimeUnit.MILLISECONDS);
+        }
+
+        Gauge.builder("ravekidd.datasource.pool.target", targetSize, AtomicInteger::get)
+                .description("Maximum pool size chosen by the adaptive pool sizer")
+                .register(meterRegistry);
+
+        this.activeConnections = DistributionSummary.builder("ravekidd.datasource.pool.active")
+                .description("Sampled number of connections in use")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+
+        this.waitingThreads = DistributionSummary.builder("ravekidd.datasource.pool.waiting")
+                .description("Sampled number of threads waiting for a connection")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+
+        if (limiter != null) {
+            FunctionTimer.builder("ravekidd.datasource.permits.acquire", limiter,
+                            ConcurrencyLimitedDataSource::getAcquireCount,
+                            permits -> permits.getAcquireTime(TimeUnit.NANOSECONDS), TimeUnit.NANOSECONDS)
+                    .description("Time spent waiting for a connection permit")
+                    .register(meterRegistry);
+        }
+    }
+
+    /**
+     * Samples the active connections and the threads waiting for a connection.
+     */
+    @Scheduled(fixedDelayString = "${ravekidd.datasource.pool.sample-interval:PT1S}")
+    public void sample() {
+
+        HikariPoolMXBean pool = hikari.getHikariPoolMXBean();
+
+        if (pool == null) {
+            return;
+        }
+
+        int waiting = pool.getThreadsAwaitingConnection() + (limiter == null ? 0 : limiter.getWaitingThreads());
+
+        activeConnections.record(pool.getActiveConnections());
+        waitingThreads.record(waiting);
+        peakWaiting.accumulateAndGet(waiting, Math::max);
+    }
+
+    /**
+     * Resizes the pool to the concurrency observed since the previous resize.
+     */
+    @Scheduled(initialDelayString = "${ravekidd.datasource.pool.resize-interval:PT30S}",
+            fixedDelayString = "${ravekidd.datasource.pool.resize-interval:PT30S}")
+    public void resize() {
+
+        Timer usage = usageTimer();
+
+        if (usage == null) {
+            return;
+        }
+
+        long now = System.nanoTime();
+        long count = usage.count();
+        double millis = usage.totalTime(TimeUnit.MILLISECONDS);
+        double elapsedMillis = (now - lastResize) / 1e6;
+
+        double concurrency = (millis - lastUsageMillis) / elapsedMillis;
+        int current = hikari.getMaximumPoolSize();
+        int waiting = peakWaiting.getAndSet(0);
+        int target = (int) Math.ceil(concurrency * headroom) + waiting;
+
+        if (target < current) {
+            target = Math.max(target, current - Math.max(1, current / 4));
+        }
+        target = Math.max(minSize, Math.min(maxSize, target));
+
+        LOG.debug("Pool {}: {} connections borrowed, concurrency {}, {} threads waiting at peak, size {} -> {}.",
+                hikari.getPoolName(), count - lastUsageCount, String.format("%.2f", concurrency), waiting,
+                current, target);
+
+        if (target != current) {
+            hikari.getHikariConfigMXBean().setMinimumIdle(Math.min(hikari.getMinimumIdle(), target));
+            hikari.getHikariConfigMXBean().setMaximumPoolSize(target);
+
+            if (limiter != null) {
+                limiter.setMaxConnections(target);
+            }
+        }
+
+        targetSize.set(target);
+        lastUsageCount = count;
+        lastUsageMillis = millis;
+        lastResize = now;
+    }
+
+    private Timer usageTimer() {
+        return meterRegistry.find(USAGE_TIMER).tag("pool", hikari.getPoolName()).timer();
+    }
+}
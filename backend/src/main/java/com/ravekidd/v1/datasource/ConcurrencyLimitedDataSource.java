@@ -0,0 +1,181 @@
+package com.ravekidd.v1.datasource;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * DataSource admitting a bounded number of threads to the connection pool at a time.
+ * With virtual threads thousands of requests can ask for a connection at once; the semaphore parks them cheaply
+ * in front of the pool, instead of letting them all queue inside the pool and pin their carrier threads.
+ * A permit is held from getting a connection until the connection is closed. The number of permits follows
+ * the size of the pool when the pool is resized.
+ */
+public class ConcurrencyLimitedDataSource extends DelegatingDataSource {
+
+    private final ResizableSemaphore permits;
+    private final Duration acquireTimeout;
+    private final LongAdder acquires = new LongAdder();
+    private final LongAdder waitNanos = new LongAdder();
+    private int maxConnections;
+
+    /**
+     * Constructor for ConcurrencyLimitedDataSource.
+     *
+     * @param target         The pooled DataSource.
+     * @param maxConnections The maximum number of connections handed out at a time.
+     * @param acquireTimeout The maximum time to wait for a permit.
+     */
+    public ConcurrencyLimitedDataSource(DataSource target, int maxConnections, Duration acquireTimeout) {
+        super(target);
+        this.permits = new ResizableSemaphore(maxConnections);
+        this.acquireTimeout = acquireTimeout;
+        this.maxConnections = maxConnections;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        acquire();
+        return guard(() -> super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        acquire();
+        return guard(() -> super.getConnection(username, password));
+    }
+
+    /**
+     * Returns the number of threads waiting for a permit.
+     *
+     * @return The number of waiting threads.
+     */
+    public int getWaitingThreads() {
+        return permits.getQueueLength();
+    }
+
+    /**
+     * Returns the number of permits acquired so far.
+     *
+     * @return The number of acquired permits.
+     */
+    public long getAcquireCount() {
+        return acquires.sum();
+    }
+
+    /**
+     * Returns the total time spent waiting for the permits acquired so far.
+     *
+     * @param unit The unit of the returned time.
+     * @return The total waiting time.
+     */
+    public double getAcquireTime(TimeUnit unit) {
+        return waitNanos.sum() / (double) unit.toNanos(1);
+    }
+
+    /**
+     * Returns the maximum number of connections handed out at a time.
+     *
+     * @return The number of permits.
+     */
+    public synchronized int getMaxConnections() {
+        return maxConnections;
+    }
+
+    /**
+     * Changes the maximum number of connections handed out at a time. Lowering it does not revoke permits
+     * already held; new threads are only admitted once enough connections have been closed.
+     *
+     * @param maxConnections The new number of permits.
+     */
+    public synchronized void setMaxConnections(int maxConnections) {
+
+        int delta = maxConnections - this.maxConnections;
+
+        if (delta > 0) {
+            permits.release(delta);
+        } else if (delta < 0) {
+            permits.reducePermits(-delta);
+        }
+
+        this.maxConnections = maxConnections;
+    }
+
+    private void acquire() throws SQLException {
+
+        long start = System.nanoTime();
+
+        try {
+            if (!permits.tryAcquire(acquireTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                throw new SQLTransientConnectionException(
+                        "No connection permit available within " + acquireTimeout.toMillis() + " ms.");
+            }
+            acquires.increment();
+            waitNanos.add(System.nanoTime() - start);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a connection permit.", e);
+        }
+    }
+
+    /**
+     * Gets a connection with an acquired permit, releasing the permit when the connection is closed
+     * or when no connection could be obtained.
+     */
+    private Connection guard(ConnectionSupplier supplier) throws SQLException {
+
+        Connection connection;
+
+        try {
+            connection = supplier.get();
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+
+        AtomicBoolean released = new AtomicBoolean();
+
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    try {
+                        return method.invoke(connection, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getTargetException();
+                    } finally {
+                        if (method.getName().equals("close") && released.compareAndSet(false, true)) {
+                            permits.release();
+                        }
+                    }
+                });
+    }
+
+    @FunctionalInterface
+    private interface ConnectionSupplier {
+        Connection get() throws SQLException;
+    }
+
+    /**
+     * Fair semaphore exposing the reduction of its permits.
+     */
+    private static class ResizableSemaphore extends Semaphore {
+
+        ResizableSemaphore(int permits) {
+            super(permits, true);
+        }
+
+        @Override
+        protected void reducePermits(int reduction) {
+            super.reducePermits(reduction);
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.ravekidd.v1.datasource;
+
+import graphql.ExecutionResult;
+import graphql.GraphQLContext;
+import graphql.TrivialDataFetcher;
+import graphql.execution.ExecutionContext;
+import graphql.execution.instrumentation.InstrumentationContext;
+import graphql.execution.instrumentation.InstrumentationState;
+import graphql.execution.instrumentation.SimplePerformantInstrumentation;
+import graphql.execution.instrumentation.parameters.InstrumentationExecuteOperationParameters;
+import graphql.execution.instrumentation.parameters.InstrumentationFieldFetchParameters;
+import graphql.language.OperationDefinition;
+import graphql.schema.DataFetcher;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.Callable;
+
+/**
+ * GraphQL Instrumentation pinning every statement of a mutation to the primary. The fields of a mutation result
+ * are resolved by read-only fetchers and batch loaders, which would otherwise read from a replica that has not
+ * replicated the mutation yet. The operation is marked in its GraphQLContext; the non-trivial data fetchers
+ * of a marked operation run pinned, and the batch loaders pin themselves through {@link #withinOperation}.
+ */
+@Component
+@ConditionalOnProperty(name = "ravekidd.datasource.replication.replicas[0].url")
+public class PrimaryPinningInstrumentation extends SimplePerformantInstrumentation {
+
+    private static final String PINNED_TO_PRIMARY = PrimaryPinningInstrumentation.class.getName() + ".pinned";
+
+    @Override
+    public InstrumentationContext<ExecutionResult> beginExecuteOperation(
+            InstrumentationExecuteOperationParameters parameters, InstrumentationState state) {
+
+        ExecutionContext context = parameters.getExecutionContext();
+
+        if (context.getOperationDefinition().getOperation() == OperationDefinition.Operation.MUTATION) {
+            context.getGraphQLContext().put(PINNED_TO_PRIMARY, true);
+        }
+
+        return super.beginExecuteOperation(parameters, state);
+    }
+
+    @Override
+    public DataFetcher<?> instrumentDataFetcher(DataFetcher<?> dataFetcher,
+                                                InstrumentationFieldFetchParameters parameters,
+                                                InstrumentationState state) {
+
+        if (dataFetcher instanceof TrivialDataFetcher ||
+                !isPinned(parameters.getEnvironment().getGraphQlContext())) {
+            return dataFetcher;
+        }
+
+        return environment -> ReplicaRoutingDataSource.onPrimary(() -> dataFetcher.get(environment));
+    }
+
+    /**
+     * Runs a task on the primary if the GraphQL operation it belongs to is pinned to the primary.
+     * Used by the batch loaders, which run outside of any data fetcher.
+     *
+     * @param context The GraphQLContext of the operation, as passed to the batch loader.
+     * @param task    The task to run.
+     * @return The result of the task.
+     * @throws Exception If the task fails.
+     */
+    public static <T> T withinOperation(Object context, Callable<T> task) throws Exception {
+
+        if (context instanceof GraphQLContext graphQLContext && isPinned(graphQLContext)) {
+            return ReplicaRoutingDataSource.onPrimary(task);
+        }
+
+        return task.call();
+    }
+
+    private static boolean isPinned(GraphQLContext context) {
+        return context != null && Boolean.TRUE.equals(context.get(PINNED_TO_PRIMARY));
+    }
+}
@@ -0,0 +1,193 @@
+package com.ravekidd.v1.datasource;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Routing DataSource sending read-only transactions to the read replicas and everything else to the primary.
+ * The replicas serving reads are picked round robin among the healthy ones. A replica is healthy while its
+ * replication lag is known and within the maximum lag; a replica that lags behind, stops replicating or refuses
+ * a connection is skipped until the next lag check finds it healthy again, and reads fall back to the primary
+ * when no replica is healthy. Work that must see its own writes, like the fields of a mutation, can be pinned
+ * to the primary for the current thread. Must be wrapped in a LazyConnectionDataSourceProxy, so the connection
+ * is only obtained once the read-only flag of the transaction is known.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    private static final Logger LOG = LogManager.getLogger(ReplicaRoutingDataSource.class);
+    private static final String PRIMARY = "primary";
+    private static final ThreadLocal<Boolean> PINNED = new ThreadLocal<>();
+    private final Map<String, DataSource> replicas;
+    private final Duration maxLag;
+    private final Set<String> healthy = ConcurrentHashMap.newKeySet();
+    private final Map<String, Long> lagSeconds = new ConcurrentHashMap<>();
+    private final AtomicInteger next = new AtomicInteger();
+
+    /**
+     * Constructor for ReplicaRoutingDataSource.
+     *
+     * @param primary       The primary DataSource.
+     * @param replicas      The replica DataSources by name.
+     * @param maxLag        The replication lag above which a replica stops serving reads.
+     * @param meterRegistry The registry of the replication lag gauges.
+     */
+    public ReplicaRoutingDataSource(DataSource primary, Map<String, DataSource> replicas, Duration maxLag,
+                                    MeterRegistry meterRegistry) {
+
+        this.replicas = replicas;
+        this.maxLag = maxLag;
+
+        Map<Object, Object> targets = new HashMap<>(replicas);
+        targets.put(PRIMARY, primary);
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+
+        replicas.keySet().forEach(name -> Gauge.builder("ravekidd.datasource.replica.lag", lagSeconds,
+                        lags -> lags.getOrDefault(name, -1L))
+                .description("Replication lag of the replica in seconds, -1 if unknown")
+                .baseUnit("seconds")
+                .tag("replica", name)
+                .register(meterRegistry));
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly() || PINNED.get() != null) {
+            return PRIMARY;
+        }
+
+        List<String> candidates = replicas.keySet().stream().filter(healthy::contains).toList();
+
+        if (candidates.isEmpty()) {
+            return PRIMARY;
+        }
+        return candidates.get(Math.floorMod(next.getAndIncrement(), candidates.size()));
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+
+        Object key = determineCurrentLookupKey();
+
+        if (PRIMARY.equals(key)) {
+            return getResolvedDefaultDataSource().getConnection();
+        }
+
+        try {
+            return replicas.get(key).getConnection();
+        } catch (SQLException e) {
+            LOG.warn("Replica {} refused a connection, falling back to the primary.", key, e);
+            healthy.remove(key);
+            return getResolvedDefaultDataSource().getConnection();
+        }
+    }
+
+    /**
+     * Runs a task with every connection obtained on the current thread routed to the primary, including those of
+     * read-only transactions.
+     *
+     * @param task The task to run.
+     * @return The result of the task.
+     * @throws Exception If the task fails.
+     */
+    public static <T> T onPrimary(Callable<T> task) throws Exception {
+
+        if (PINNED.get() != null) {
+            return task.call();
+        }
+
+        PINNED.set(Boolean.TRUE);
+
+        try {
+            return task.call();
+        } finally {
+            PINNED.remove();
+        }
+    }
+
+    /**
+     * Checks the replication lag of every replica and updates the replicas serving reads.
+     * Scheduled by the configuration at the lag check interval of the replication properties.
+     */
+    public void checkReplicationLag() {
+
+        replicas.forEach((name, replica) -> {
+
+            Long lag = readLagSeconds(name, replica);
+
+            if (lag == null) {
+                lagSeconds.remove(name);
+            } else {
+                lagSeconds.put(name, lag);
+            }
+
+            if (lag != null && lag <= maxLag.toSeconds()) {
+                if (healthy.add(name)) {
+                    LOG.info("Replica {} is serving reads, lag {} s.", name, lag);
+                }
+            } else if (healthy.remove(name)) {
+                LOG.warn("Replica {} stopped serving reads, lag {} s over the maximum of {} s.",
+                        name, lag == null ? "unknown" : lag, maxLag.toSeconds());
+            }
+        });
+    }
+
+    /**
+     * Reads the replication lag of a MySQL replica, using the statement of MySQL 8.0.22+ and falling back to
+     * the statement of older versions.
+     *
+     * @param name    The name of the replica.
+     * @param replica The replica DataSource.
+     * @return The lag in seconds, or null if the replica is unreachable or not replicating.
+     */
+    private Long readLagSeconds(String name, DataSource replica) {
+
+        try (Connection connection = replica.getConnection(); Statement statement = connection.createStatement()) {
+
+            try (ResultSet status = statement.executeQuery("SHOW REPLICA STATUS")) {
+                return status.next() ? toLong(status.getObject("Seconds_Behind_Source")) : null;
+            } catch (SQLException e) {
+                try (ResultSet status = statement.executeQuery("SHOW SLAVE STATUS")) {
+                    return status.next() ? toLong(status.getObject("Seconds_Behind_Master")) : null;
+                }
+            }
+
+        } catch (SQLException e) {
+            LOG.debug("Failed to read the replication lag of replica {}.", name, e);
+            return null;
+        }
+    }
+
+    /**
+     * Closes the pools of the replicas.
+     *
+     * @throws Exception If a pool fails to close.
+     */
+    public void close() throws Exception {
+        for (DataSource replica : replicas.values()) {
+            if (replica instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+
+    private static Long toLong(Object value) {
+        return value instanceof Number number ? number.longValue() : null;
+    }
+}
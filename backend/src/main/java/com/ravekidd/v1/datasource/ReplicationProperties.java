@@ -0,0 +1,31 @@
+package com.ravekidd.v1.datasource;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Configuration of the read replicas serving the read-only transactions.
+ *
+ * @param replicas         The read replicas.
+ * @param maxLag           The replication lag above which a replica stops serving reads.
+ * @param lagCheckInterval The interval between two checks of the replication lag.
+ */
+@ConfigurationProperties("ravekidd.datasource.replication")
+public record ReplicationProperties(List<Replica> replicas,
+                                    @DefaultValue("PT5S") Duration maxLag,
+                                    @DefaultValue("PT5S") Duration lagCheckInterval) {
+
+    /**
+     * Connection settings of one read replica.
+     *
+     * @param url             The JDBC URL of the replica.
+     * @param username        The username of the replica.
+     * @param password        The password of the replica.
+     * @param maximumPoolSize The maximum size of the connection pool of the replica.
+     */
+    public record Replica(String url, String username, String password, Integer maximumPoolSize) {
+    }
+}
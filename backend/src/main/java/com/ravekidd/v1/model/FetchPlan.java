@@ -0,0 +1,20 @@
+package com.ravekidd.v1.model;
+
+/**
+ * Associations a list query fetches within its own statement, planned from the fields selected by the client.
+ * Associations which are not planned are left lazy: the batch loaders resolve them if they are selected,
+ * and nothing loads them otherwise.
+ *
+ * @param author Whether the author of each post is joined into the post query.
+ * @param roles  Whether the roles of each user are loaded with the users.
+ */
+public record FetchPlan(
+        boolean author,
+        boolean roles
+) {
+
+    /**
+     * Plan fetching no association.
+     */
+    public static final FetchPlan NONE = new FetchPlan(false, false);
+}
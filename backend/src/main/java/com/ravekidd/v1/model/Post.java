@@ -1,24 +1,34 @@
 package com.ravekidd.v1.model;
 
+import com.ravekidd.v1.consts.Constants;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
-import lombok.Data;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
 
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Set;
 
-@Data
+@Getter
+@Setter
+@ToString
 @Entity
-@Table(name="POSTS")
-public class Post {
+@Table(name="POSTS", indexes = {
+        @Index(name = "IDX_POSTS_USER_DATE", columnList = "USER_ID, DATE DESC, POST_ID DESC"),
+        @Index(name = "IDX_POSTS_DATE", columnList = "DATE DESC, POST_ID DESC")
+})
+public class Post implements PostSource {
 
     @Id
     @Column(name="POST_ID")
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "posts_seq")
+    @SequenceGenerator(name = "posts_seq", sequenceName = "posts_seq", allocationSize = Constants.ID_ALLOCATION_SIZE)
     private Long id = null;
 
-    @ManyToOne
+    @ToString.Exclude
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name="USER_ID")
     private User user = null;
 
@@ -32,6 +42,13 @@ public class Post {
     @Column(name="DATE")
     private LocalDateTime date = null;
 
+    @Column(name="LIKE_COUNT", nullable = false, updatable = false)
+    private Long likeCount = null;
+
+    @Column(name="COMMENT_COUNT", nullable = false, updatable = false)
+    private Long commentCount = null;
+
+    @ToString.Exclude
     @ManyToMany
     @JoinTable(
             name = "POST_LIKES",
@@ -40,6 +57,7 @@ public class Post {
     )
     private Set<User> likes = null;
 
+    @ToString.Exclude
     @OneToMany(mappedBy = "post", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<PostComment> comments = null;
 
@@ -53,6 +71,11 @@ public class Post {
         this.date = date;
     }
 
+    @Override
+    public Long getUserId() {
+        return user == null ? null : user.getId();
+    }
+
     public void addLike(User user) {
         likes.add(user);
     }
@@ -68,4 +91,20 @@ public class Post {
     public void removeComment(PostComment comment) {
         comments.remove(comment);
     }
+
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (!(other instanceof Post post)) {
+            return false;
+        }
+        return id != null && id.equals(post.getId());
+    }
+
+    @Override
+    public int hashCode() {
+        return Post.class.hashCode();
+    }
 }
@@ -1,27 +1,37 @@
 package com.ravekidd.v1.model;
 
+import com.ravekidd.v1.consts.Constants;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
-import lombok.Data;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
 
 import java.time.LocalDateTime;
 import java.util.Set;
 
-@Data
+@Getter
+@Setter
+@ToString
 @Entity
-@Table(name = "POST_COMMENTS")
+@Table(name = "POST_COMMENTS", indexes = @Index(name = "IDX_POST_COMMENTS_POST_DATE",
+        columnList = "POST_ID, DATE, COMMENT_ID"))
 public class PostComment {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "post_comments_seq")
+    @SequenceGenerator(name = "post_comments_seq", sequenceName = "post_comments_seq",
+            allocationSize = Constants.ID_ALLOCATION_SIZE)
     @Column(name = "COMMENT_ID")
     private Long id = null;
 
-    @ManyToOne
+    @ToString.Exclude
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "POST_ID")
     private Post post = null;
 
-    @ManyToOne
+    @ToString.Exclude
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "USER_ID")
     private User user = null;
 
@@ -32,6 +42,10 @@ public class PostComment {
     @Column(name="DATE")
     private LocalDateTime date = null;
 
+    @Column(name = "LIKE_COUNT", nullable = false, updatable = false)
+    private Long likeCount = null;
+
+    @ToString.Exclude
     @ManyToMany
     @JoinTable(
             name = "POST_COMMENTS_LIKES",
@@ -48,6 +62,7 @@ public class PostComment {
         this.user = user;
         this.content = content;
         this.date = date;
+        this.likeCount = 0L;
     }
 
     public void addLike(User user) {
@@ -57,5 +72,20 @@ public class PostComment {
     public void removeLike(User user) {
         likes.remove(user);
     }
-}
 
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (!(other instanceof PostComment comment)) {
+            return false;
+        }
+        return id != null && id.equals(comment.getId());
+    }
+
+    @Override
+    public int hashCode() {
+        return PostComment.class.hashCode();
+    }
+}
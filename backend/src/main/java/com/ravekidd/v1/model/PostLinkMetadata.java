@@ -0,0 +1,52 @@
+package com.ravekidd.v1.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.time.LocalDateTime;
+
+@Data
+@Entity
+@Table(name = "POST_LINK_METADATA", indexes = @Index(name = "IDX_POST_LINK_METADATA_URL", columnList = "URL"))
+public class PostLinkMetadata {
+
+    @Id
+    @Column(name = "POST_ID")
+    private Long postId = null;
+
+    @Column(name = "URL", nullable = false, length = 512)
+    private String url = null;
+
+    @Column(name = "STATUS", nullable = false, length = 16)
+    @Enumerated(EnumType.STRING)
+    @JdbcTypeCode(SqlTypes.VARCHAR)
+    private Status status = null;
+
+    @Column(name = "PROVIDER", length = 32)
+    private String provider = null;
+
+    @Column(name = "TITLE")
+    private String title = null;
+
+    @Column(name = "ARTIST")
+    private String artist = null;
+
+    @Column(name = "ARTWORK_URL", length = 512)
+    private String artworkUrl = null;
+
+    @Column(name = "DURATION_SECONDS")
+    private Integer durationSeconds = null;
+
+    @Column(name = "FETCHED_AT", nullable = false)
+    private LocalDateTime fetchedAt = null;
+
+    public PostLinkMetadata() {
+    }
+
+    public enum Status {
+        RESOLVED,
+        FAILED
+    }
+}
@@ -0,0 +1,20 @@
+package com.ravekidd.v1.model;
+
+import java.time.LocalDateTime;
+
+/**
+ * Post as seen by the GraphQL field resolvers, implemented by the managed {@link Post} entity returned
+ * by the mutations and by the read-only {@link PostView} projection returned by the queries.
+ */
+public interface PostSource {
+
+    Long getId();
+
+    Long getUserId();
+
+    LocalDateTime getDate();
+
+    Long getLikeCount();
+
+    Long getCommentCount();
+}
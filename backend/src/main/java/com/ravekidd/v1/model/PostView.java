@@ -0,0 +1,77 @@
+package com.ravekidd.v1.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Value;
+
+import java.time.LocalDateTime;
+
+/**
+ * Read-only projection of a post holding its columns and the ID of its author. Selected by the GraphQL queries
+ * instead of the entity, so no post is attached to the persistence context, snapshotted for dirty checking
+ * or given proxies for its associations. The likes and comments are resolved by the batch loaders, and so is
+ * the author, unless the query joined it because only its columns were selected.
+ */
+@Value
+@AllArgsConstructor
+public class PostView implements PostSource {
+
+    Long id;
+    Long userId;
+    String description;
+    String link;
+    LocalDateTime date;
+    Long likeCount;
+    Long commentCount;
+    User author;
+
+    /**
+     * Constructor for PostView without its author.
+     *
+     * @param id           The ID of the post.
+     * @param userId       The ID of the author.
+     * @param description  The description of the post.
+     * @param link         The link of the post.
+     * @param date         The date of the post.
+     * @param likeCount    The number of likes of the post.
+     * @param commentCount The number of comments of the post.
+     */
+    public PostView(Long id, Long userId, String description, String link, LocalDateTime date, Long likeCount,
+                    Long commentCount) {
+        this(id, userId, description, link, date, likeCount, commentCount, null);
+    }
+
+    /**
+     * Constructor for PostView with the columns of its joined author. The author is a detached user
+     * holding only these columns, without roles and posts.
+     *
+     * @param id            The ID of the post.
+     * @param userId        The ID of the author.
+     * @param description   The description of the post.
+     * @param link          The link of the post.
+     * @param date          The date of the post.
+     * @param likeCount     The number of likes of the post.
+     * @param commentCount  The number of comments of the post.
+     * @param username      The username of the author.
+     * @param image         The image of the author.
+     * @param followerCount The number of followers of the author.
+     */
+    public PostView(Long id, Long userId, String description, String link, LocalDateTime date, Long likeCount,
+                    Long commentCount, String username, String image, Long followerCount) {
+        this(id, userId, description, link, date, likeCount, commentCount,
+                author(userId, username, image, followerCount));
+    }
+
+    private static User author(Long userId, String username, String image, Long followerCount) {
+
+        if (userId == null) {
+            return null;
+        }
+
+        User author = new User();
+        author.setId(userId);
+        author.setUsername(username);
+        author.setImage(image);
+        author.setFollowerCount(followerCount);
+        return author;
+    }
+}
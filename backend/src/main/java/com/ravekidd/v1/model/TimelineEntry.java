@@ -0,0 +1,44 @@
+package com.ravekidd.v1.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+@Data
+@Entity
+@IdClass(TimelineEntry.Key.class)
+@Table(name = "TIMELINES", indexes = {
+        @Index(name = "IDX_TIMELINES_USER_DATE", columnList = "USER_ID, POST_DATE DESC, POST_ID DESC"),
+        @Index(name = "IDX_TIMELINES_POST", columnList = "POST_ID")
+})
+public class TimelineEntry {
+
+    @Id
+    @Column(name = "USER_ID")
+    private Long userId = null;
+
+    @Id
+    @Column(name = "POST_ID")
+    private Long postId = null;
+
+    @Column(name = "AUTHOR_ID", nullable = false)
+    private Long authorId = null;
+
+    @Column(name = "POST_DATE", nullable = false)
+    private LocalDateTime postDate = null;
+
+    public TimelineEntry() {
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private Long userId;
+        private Long postId;
+    }
+}
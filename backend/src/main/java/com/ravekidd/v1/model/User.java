@@ -1,18 +1,31 @@
 package com.ravekidd.v1.model;
 
+import com.ravekidd.v1.consts.Constants;
 import jakarta.persistence.*;
-import lombok.Data;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+import org.hibernate.annotations.BatchSize;
 
 import java.util.List;
 
-@Data
+@Getter
+@Setter
+@ToString
 @Entity
-@Table(name="USERS")
+@Table(name="USERS", indexes = @Index(name = "IDX_USERS_FOLLOWER_COUNT", columnList = "FOLLOWER_COUNT"))
+@NamedEntityGraph(name = User.GRAPH_SUMMARY)
 public class User {
 
+    /**
+     * Fetch graph of the columns of a user. Fetching with it leaves the roles lazy, although they are eager.
+     */
+    public static final String GRAPH_SUMMARY = "User.summary";
+
     @Id
     @Column(name = "USER_ID")
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "users_seq")
+    @SequenceGenerator(name = "users_seq", sequenceName = "users_seq", allocationSize = Constants.ID_ALLOCATION_SIZE)
     private Long id = null;
 
     @Column(name = "USER_NAME", unique = true)
@@ -21,12 +34,19 @@ public class User {
     @Column(name = "IMAGE")
     private String image = null;
 
+    @ToString.Exclude
     @Column(name = "PASSWORD")
     private String password = null;
 
+    @Column(name = "FOLLOWER_COUNT", nullable = false, updatable = false)
+    private Long followerCount = null;
+
+    @ToString.Exclude
     @OneToMany(mappedBy = "user")
     private List<Post> posts = null;
 
+    @ToString.Exclude
+    @BatchSize(size = 100)
     @ManyToMany(fetch = FetchType.EAGER, cascade = CascadeType.ALL)
     @JoinTable(name = "user_roles", joinColumns = @JoinColumn(name = "user_id"),
             inverseJoinColumns = @JoinColumn(name = "role_id"))
@@ -34,4 +54,20 @@ public class User {
 
     public User() {
     }
+
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (!(other instanceof User user)) {
+            return false;
+        }
+        return id != null && id.equals(user.getId());
+    }
+
+    @Override
+    public int hashCode() {
+        return User.class.hashCode();
+    }
 }
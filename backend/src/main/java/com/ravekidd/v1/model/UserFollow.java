@@ -0,0 +1,38 @@
+package com.ravekidd.v1.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+@Data
+@Entity
+@IdClass(UserFollow.Key.class)
+@Table(name = "USER_FOLLOWS", indexes = @Index(name = "IDX_USER_FOLLOWS_FOLLOWEE", columnList = "FOLLOWEE_ID"))
+public class UserFollow {
+
+    @Id
+    @Column(name = "FOLLOWER_ID")
+    private Long followerId = null;
+
+    @Id
+    @Column(name = "FOLLOWEE_ID")
+    private Long followeeId = null;
+
+    @Column(name = "DATE")
+    private LocalDateTime date = null;
+
+    public UserFollow() {
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private Long followerId;
+        private Long followeeId;
+    }
+}
@@ -0,0 +1,13 @@
+package com.ravekidd.v1.model.bulk;
+
+/**
+ * Comment of a bulk addComments mutation.
+ *
+ * @param postId  The ID of the commented post.
+ * @param content The content of the comment.
+ */
+public record BulkCommentInput(
+        Long postId,
+        String content
+) {
+}
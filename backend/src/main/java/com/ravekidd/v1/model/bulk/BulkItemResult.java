@@ -0,0 +1,25 @@
+package com.ravekidd.v1.model.bulk;
+
+/**
+ * Result of one item of a bulk mutation.
+ *
+ * @param index   The position of the item in the input list.
+ * @param id      The ID of the affected entity, e.g. the liked post or the created comment.
+ * @param success Whether the item was applied.
+ * @param message The reason the item was not applied, null on success.
+ */
+public record BulkItemResult(
+        int index,
+        Long id,
+        boolean success,
+        String message
+) {
+
+    public static BulkItemResult success(int index, Long id) {
+        return new BulkItemResult(index, id, true, null);
+    }
+
+    public static BulkItemResult failure(int index, Long id, String message) {
+        return new BulkItemResult(index, id, false, message);
+    }
+}
@@ -0,0 +1,28 @@
+package com.ravekidd.v1.model.bulk;
+
+import java.util.List;
+
+/**
+ * Result of a bulk mutation, holding the result of every item in input order.
+ *
+ * @param succeeded The number of applied items.
+ * @param failed    The number of rejected items.
+ * @param items     The results of the items.
+ */
+public record BulkResult(
+        int succeeded,
+        int failed,
+        List<BulkItemResult> items
+) {
+
+    /**
+     * Summarizes the results of the items.
+     *
+     * @param items The results of the items.
+     * @return The result of the bulk mutation.
+     */
+    public static BulkResult of(List<BulkItemResult> items) {
+        int succeeded = (int) items.stream().filter(BulkItemResult::success).count();
+        return new BulkResult(succeeded, items.size() - succeeded, items);
+    }
+}
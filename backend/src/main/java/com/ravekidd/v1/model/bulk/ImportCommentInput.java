@@ -0,0 +1,13 @@
+package com.ravekidd.v1.model.bulk;
+
+/**
+ * Comment of an imported post, created on behalf of its author.
+ *
+ * @param userId  The ID of the author.
+ * @param content The content of the comment.
+ */
+public record ImportCommentInput(
+        Long userId,
+        String content
+) {
+}
@@ -0,0 +1,21 @@
+package com.ravekidd.v1.model.bulk;
+
+import java.util.List;
+
+/**
+ * Post of a bulk importPosts mutation, created on behalf of its author together with its comments.
+ *
+ * @param userId      The ID of the author.
+ * @param description The description of the post.
+ * @param link        The link of the post.
+ * @param date        The date of the post in ISO-8601, e.g. 2024-01-31T20:00:00.
+ * @param comments    The comments of the post.
+ */
+public record ImportPostInput(
+        Long userId,
+        String description,
+        String link,
+        String date,
+        List<ImportCommentInput> comments
+) {
+}
@@ -0,0 +1,15 @@
+package com.ravekidd.v1.model.connection;
+
+import java.time.LocalDateTime;
+
+/**
+ * Keyset position of a comment in the oldest-first comment order of its post.
+ *
+ * @param date The date of the comment.
+ * @param id   The ID of the comment.
+ */
+public record CommentCursor(
+        LocalDateTime date,
+        Long id
+) {
+}
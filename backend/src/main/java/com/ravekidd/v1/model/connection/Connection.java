@@ -0,0 +1,38 @@
+package com.ravekidd.v1.model.connection;
+
+import java.util.List;
+
+/**
+ * Relay-style connection returned by the paginated GraphQL queries.
+ *
+ * @param edges      The edges of the current page.
+ * @param pageInfo   The pagination state of the current page.
+ * @param totalCount The number of nodes over all pages, or null if it is not counted.
+ * @param <T>        The type of the nodes.
+ */
+public record Connection<T>(
+        List<Edge<T>> edges,
+        PageInfo pageInfo,
+        Long totalCount
+) {
+
+    /**
+     * Constructor for a connection without a total count.
+     *
+     * @param edges    The edges of the current page.
+     * @param pageInfo The pagination state of the current page.
+     */
+    public Connection(List<Edge<T>> edges, PageInfo pageInfo) {
+        this(edges, pageInfo, null);
+    }
+
+    /**
+     * Copies the connection with a total count.
+     *
+     * @param count The number of nodes over all pages.
+     * @return The connection with the total count.
+     */
+    public Connection<T> withTotalCount(Long count) {
+        return new Connection<>(edges, pageInfo, count);
+    }
+}
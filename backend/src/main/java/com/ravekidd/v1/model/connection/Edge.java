@@ -0,0 +1,14 @@
+package com.ravekidd.v1.model.connection;
+
+/**
+ * Edge of a Relay-style connection.
+ *
+ * @param cursor Opaque cursor pointing at the node.
+ * @param node   The node.
+ * @param <T>    The type of the node.
+ */
+public record Edge<T>(
+        String cursor,
+        T node
+) {
+}
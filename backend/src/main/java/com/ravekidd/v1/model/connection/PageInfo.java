@@ -0,0 +1,13 @@
+package com.ravekidd.v1.model.connection;
+
+/**
+ * Pagination state of a Relay-style connection.
+ *
+ * @param hasNextPage Whether there are more nodes after the current page.
+ * @param endCursor   Cursor of the last node of the current page.
+ */
+public record PageInfo(
+        boolean hasNextPage,
+        String endCursor
+) {
+}
@@ -0,0 +1,16 @@
+package com.ravekidd.v1.model.connection;
+
+/**
+ * Key of a nested connection in a batch, e.g. the comments of one post. Keys with the same page arguments
+ * are loaded by one query across all their parents.
+ *
+ * @param parentId The ID of the parent whose children are paginated.
+ * @param first    Maximum number of children in the page.
+ * @param after    Cursor of the last child of the previous page.
+ */
+public record PageKey(
+        Long parentId,
+        Integer first,
+        String after
+) {
+}
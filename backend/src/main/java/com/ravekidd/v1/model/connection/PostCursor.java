@@ -0,0 +1,15 @@
+package com.ravekidd.v1.model.connection;
+
+import java.time.LocalDateTime;
+
+/**
+ * Keyset position of a post in the newest-first post order.
+ *
+ * @param date The date of the post.
+ * @param id   The ID of the post.
+ */
+public record PostCursor(
+        LocalDateTime date,
+        Long id
+) {
+}
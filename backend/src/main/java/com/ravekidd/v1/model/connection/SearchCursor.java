@@ -0,0 +1,13 @@
+package com.ravekidd.v1.model.connection;
+
+/**
+ * Keyset position of a post in the search results, ordered by descending score and ID.
+ *
+ * @param score The relevance score of the post.
+ * @param id    The ID of the post.
+ */
+public record SearchCursor(
+        float score,
+        Long id
+) {
+}
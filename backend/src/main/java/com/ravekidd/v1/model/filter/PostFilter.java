@@ -0,0 +1,24 @@
+package com.ravekidd.v1.model.filter;
+
+import java.util.List;
+
+/**
+ * Filter of a getPosts query. The given criteria are combined, so a filter with user IDs and a date range
+ * matches the posts of these users within the range. Criteria which are not given do not restrict the posts.
+ *
+ * @param ids      The IDs of the posts.
+ * @param userIds  The IDs of the authors.
+ * @param dateFrom The earliest date of the posts in ISO-8601, e.g. 2024-01-31T20:00, inclusive.
+ * @param dateTo   The latest date of the posts in ISO-8601, inclusive.
+ * @param sort     The order of the posts, newest first if not given.
+ * @param limit    The maximum number of posts, capped at the maximum page size.
+ */
+public record PostFilter(
+        List<Long> ids,
+        List<Long> userIds,
+        String dateFrom,
+        String dateTo,
+        PostSort sort,
+        Integer limit
+) {
+}
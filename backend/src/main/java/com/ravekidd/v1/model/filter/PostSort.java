@@ -0,0 +1,10 @@
+package com.ravekidd.v1.model.filter;
+
+/**
+ * Order of the posts matched by a {@link PostFilter}. Both orders break ties of the date by the ID,
+ * so they follow the (date, post_id) indexes of the posts.
+ */
+public enum PostSort {
+    NEWEST,
+    OLDEST
+}
@@ -0,0 +1,212 @@
+package com.ravekidd.v1.monitoring;
+
+import graphql.ExecutionResult;
+import graphql.execution.instrumentation.InstrumentationContext;
+import graphql.execution.instrumentation.InstrumentationState;
+import graphql.execution.instrumentation.SimplePerformantInstrumentation;
+import graphql.execution.instrumentation.parameters.InstrumentationCreateStateParameters;
+import graphql.execution.instrumentation.parameters.InstrumentationExecuteOperationParameters;
+import graphql.execution.instrumentation.parameters.InstrumentationExecutionParameters;
+import graphql.execution.instrumentation.parameters.InstrumentationFieldFetchParameters;
+import graphql.language.Field;
+import graphql.language.OperationDefinition;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * GraphQL Instrumentation attributing the SQL statements, loaded rows and wall time to every operation and field.
+ * The statistics are published as Micrometer meters, operations exceeding the statement budget are logged,
+ * and so are field fetches slower than the configured threshold. Trivial property fetches are not instrumented.
+ */
+@Component
+public class GraphQLMetricsInstrumentation extends SimplePerformantInstrumentation {
+
+    private static final Logger LOG = LogManager.getLogger(GraphQLMetricsInstrumentation.class);
+    private final MeterRegistry meterRegistry;
+    private final long statementBudget;
+    private final Duration slowFieldThreshold;
+
+    /**
+     * Constructor for GraphQLMetricsInstrumentation.
+     *
+     * @param meterRegistry      The registry of the published meters.
+     * @param statementBudget    The number of statements an operation may execute without being logged.
+     * @param slowFieldThreshold The duration of a field fetch above which the fetch is logged.
+     */
+    @Autowired
+    public GraphQLMetricsInstrumentation(MeterRegistry meterRegistry,
+                                         @Value("${ravekidd.monitoring.statement-budget:25}") long statementBudget,
+                                         @Value("${ravekidd.monitoring.slow-field-threshold:PT0.5S}")
+                                         Duration slowFieldThreshold) {
+        this.meterRegistry = meterRegistry;
+        this.statementBudget = statementBudget;
+        this.slowFieldThreshold = slowFieldThreshold;
+    }
+
+    @Override
+    public InstrumentationState createState(InstrumentationCreateStateParameters parameters) {
+        return new QueryStatistics();
+    }
+
+    @Override
+    public InstrumentationContext<ExecutionResult> beginExecution(InstrumentationExecutionParameters parameters,
+                                                                  InstrumentationState state) {
+
+        QueryStatistics statistics = (QueryStatistics) state;
+        Runnable restore = statistics.bind(null);
+        long start = System.nanoTime();
+
+        return new InstrumentationContext<>() {
+
+            @Override
+            public void onDispatched(CompletableFuture<ExecutionResult> result) {
+                restore.run();
+            }
+
+            @Override
+            public void onCompleted(ExecutionResult result, Throwable t) {
+                boolean success = t == null && result != null && result.getErrors().isEmpty();
+                recordOperation(statistics, System.nanoTime() - start, success);
+            }
+        };
+    }
+
+    @Override
+    public InstrumentationContext<ExecutionResult> beginExecuteOperation(
+            InstrumentationExecuteOperationParameters parameters, InstrumentationState state) {
+
+        ((QueryStatistics) state).setOperation(
+                operationName(parameters.getExecutionContext().getOperationDefinition()));
+
+        return super.beginExecuteOperation(parameters, state);
+    }
+
+    @Override
+    public InstrumentationContext<Object> beginFieldFetch(InstrumentationFieldFetchParameters parameters,
+                                                          InstrumentationState state) {
+
+        if (parameters.isTrivialDataFetcher()) {
+            return super.beginFieldFetch(parameters, state);
+        }
+
+        QueryStatistics statistics = (QueryStatistics) state;
+        String field = parameters.getExecutionStepInfo().getObjectType().getName() + "." +
+                parameters.getField().getName();
+        Runnable restore = statistics.bind(field);
+        long start = System.nanoTime();
+
+        return new InstrumentationContext<>() {
+
+            @Override
+            public void onDispatched(CompletableFuture<Object> result) {
+                restore.run();
+            }
+
+            @Override
+            public void onCompleted(Object result, Throwable t) {
+                recordField(statistics, field, System.nanoTime() - start);
+            }
+        };
+    }
+
+    /**
+     * Publishes the statistics of a completed operation and logs it if it exceeded the statement budget.
+     *
+     * @param statistics The statistics of the operation.
+     * @param nanos      The wall time of the operation.
+     * @param success    Whether the operation completed without errors.
+     */
+    private void recordOperation(QueryStatistics statistics, long nanos, boolean success) {
+
+        String operation = statistics.getOperation();
+
+        Timer.builder("ravekidd.graphql.operation")
+                .description("Wall time of GraphQL operations")
+                .tag("operation", operation)
+                .tag("outcome", success ? "SUCCESS" : "ERROR")
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(nanos, TimeUnit.NANOSECONDS);
+
+        summary("ravekidd.graphql.operation.statements", "SQL statements per GraphQL operation", operation)
+                .record(statistics.getStatements());
+
+        summary("ravekidd.graphql.operation.rows", "Result rows read per GraphQL operation", operation)
+                .record(statistics.getRows());
+
+        statistics.getScopes().forEach((scope, counts) -> DistributionSummary
+                .builder("ravekidd.graphql.scope.statements")
+                .description("SQL statements per field or batch loader of a GraphQL operation")
+                .tag("operation", operation)
+                .tag("scope", scope)
+                .register(meterRegistry)
+                .record(counts.statements().get()));
+
+        if (statistics.getStatements() > statementBudget) {
+            LOG.warn("Operation {} executed {} statements over the budget of {}, loaded {} rows in {} ms. By scope: {}",
+                    operation, statistics.getStatements(), statementBudget, statistics.getRows(),
+                    TimeUnit.NANOSECONDS.toMillis(nanos), statistics.getScopes());
+        }
+    }
+
+    /**
+     * Publishes the wall time of a completed field fetch and logs it if it was slow.
+     *
+     * @param statistics The statistics of the operation.
+     * @param field      The coordinates of the field.
+     * @param nanos      The wall time of the fetch.
+     */
+    private void recordField(QueryStatistics statistics, String field, long nanos) {
+
+        Timer.builder("ravekidd.graphql.field")
+                .description("Wall time of non-trivial GraphQL field fetches")
+                .tag("field", field)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(nanos, TimeUnit.NANOSECONDS);
+
+        if (nanos > slowFieldThreshold.toNanos()) {
+            LOG.warn("Field {} of operation {} took {} ms.", field, statistics.getOperation(),
+                    TimeUnit.NANOSECONDS.toMillis(nanos));
+        }
+    }
+
+    /**
+     * Names an operation for the meter tags by its type and its distinct root fields, e.g. query:getFeed.
+     * The name the client gives the operation is ignored, so the tag only takes values derived from the schema
+     * and the number of meters stays bounded. Runs after validation, so every root field exists in the schema.
+     *
+     * @param operation The definition of the operation.
+     * @return The name of the operation.
+     */
+    static String operationName(OperationDefinition operation) {
+
+        return operation.getOperation().name().toLowerCase(Locale.ROOT) + ":" +
+                operation.getSelectionSet().getSelectionsOfType(Field.class)
+                        .stream()
+                        .map(Field::getName)
+                        .distinct()
+                        .sorted()
+                        .collect(Collectors.joining(","));
+    }
+
+    private DistributionSummary summary(String name, String description, String operation) {
+        return DistributionSummary.builder(name)
+                .description(description)
+                .tag("operation", operation)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,233 @@
+package com.ravekidd.v1.monitoring;
+
+import com.ravekidd.v1.consts.Constants;
+import com.ravekidd.v1.service.helpers.InputHelper;
+import graphql.ExecutionResult;
+import graphql.TrivialDataFetcher;
+import graphql.analysis.QueryTraverser;
+import graphql.analysis.QueryVisitorFieldEnvironment;
+import graphql.analysis.QueryVisitorStub;
+import graphql.execution.AbortExecutionException;
+import graphql.execution.ExecutionContext;
+import graphql.execution.instrumentation.InstrumentationContext;
+import graphql.execution.instrumentation.InstrumentationState;
+import graphql.execution.instrumentation.SimplePerformantInstrumentation;
+import graphql.execution.instrumentation.parameters.InstrumentationExecuteOperationParameters;
+import graphql.schema.FieldCoordinates;
+import graphql.schema.GraphQLCodeRegistry;
+import graphql.schema.GraphQLTypeUtil;
+import graphql.util.TraversalControl;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static com.ravekidd.v1.consts.Messages.UNSUCCESSFUL_QUERY_COST;
+import static com.ravekidd.v1.consts.Messages.UNSUCCESSFUL_QUERY_DEPTH;
+
+/**
+ * GraphQL Instrumentation estimating the depth and cost of every operation before any field is fetched,
+ * and aborting the operations exceeding the configured ceilings.
+ * A field costs its weight once for every item its ancestors may return. Paginated fields return as many items
+ * as their page size, root lists up to the maximum page size, which bounds every query mode of the root lists
+ * including the lists of IDs and usernames, and any other field returns a single item,
+ * so nested lists such as the edges of a connection are bounded by their parent.
+ * The estimated costs and the rejected operations are published as Micrometer meters.
+ */
+@Component
+public class QueryCostInstrumentation extends SimplePerformantInstrumentation {
+
+    private static final Logger LOG = LogManager.getLogger(QueryCostInstrumentation.class);
+    private static final String ARGUMENT_FIRST = "first";
+    private static final String ARGUMENT_FILTER = "filter";
+    private static final String FILTER_LIMIT = "limit";
+    private final MeterRegistry meterRegistry;
+    private final InputHelper inputHelper;
+    private final QueryCostProperties properties;
+    private final Map<String, Long> weights = new ConcurrentHashMap<>();
+
+    /**
+     * Constructor for QueryCostInstrumentation.
+     *
+     * @param meterRegistry The registry of the published meters.
+     * @param inputHelper   The helper class for handling input-related operations.
+     * @param properties    The ceilings and field weights of the cost analysis.
+     */
+    @Autowired
+    public QueryCostInstrumentation(MeterRegistry meterRegistry,
+                                    InputHelper inputHelper,
+                                    QueryCostProperties properties) {
+        this.meterRegistry = meterRegistry;
+        this.inputHelper = inputHelper;
+        this.properties = properties;
+    }
+
+    @Override
+    public InstrumentationContext<ExecutionResult> beginExecuteOperation(
+            InstrumentationExecuteOperationParameters parameters, InstrumentationState state) {
+
+        ExecutionContext context = parameters.getExecutionContext();
+        String operation = GraphQLMetricsInstrumentation.operationName(context.getOperationDefinition());
+        CostVisitor visitor = new CostVisitor(context.getGraphQLSchema().getCodeRegistry());
+
+        QueryTraverser.newQueryTraverser()
+                .schema(context.getGraphQLSchema())
+                .document(context.getDocument())
+                .operationName(context.getExecutionInput().getOperationName())
+                .coercedVariables(context.getCoercedVariables())
+                .build()
+                .visitPreOrder(visitor);
+
+        if (visitor.depth > properties.maxDepth()) {
+            reject(operation, "DEPTH", UNSUCCESSFUL_QUERY_DEPTH.get().formatted(properties.maxDepth()));
+        }
+
+        if (visitor.cost > properties.maxCost()) {
+            reject(operation, "COST", UNSUCCESSFUL_QUERY_COST.get().formatted(visitor.cost, properties.maxCost()));
+        }
+
+        DistributionSummary.builder("ravekidd.graphql.operation.cost")
+                .description("Estimated cost of the accepted GraphQL operations")
+                .tag("operation", operation)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(visitor.cost);
+
+        return super.beginExecuteOperation(parameters, state);
+    }
+
+    /**
+     * Counts and logs a rejected operation, then aborts it. The counter is only tagged by the exceeded ceiling,
+     * so no meter depends on the rejected operation.
+     *
+     * @param operation The name of the operation.
+     * @param reason    The exceeded ceiling.
+     * @param message   The message of the error returned to the client.
+     */
+    private void reject(String operation, String reason, String message) {
+
+        Counter.builder("ravekidd.graphql.operation.rejected")
+                .description("GraphQL operations rejected by the cost analysis")
+                .tag("reason", reason)
+                .register(meterRegistry)
+                .increment();
+
+        LOG.warn("Operation {} was rejected: {}", operation, message);
+        throw new AbortExecutionException(message);
+    }
+
+    /**
+     * Retrieves the weight of a field, as configured or by whether it is resolved by more than a property read.
+     *
+     * @param codeRegistry The code registry of the schema.
+     * @param env          The environment of the field.
+     * @return The weight of the field.
+     */
+    private long weight(GraphQLCodeRegistry codeRegistry, QueryVisitorFieldEnvironment env) {
+
+        FieldCoordinates coordinates = FieldCoordinates.coordinates(env.getFieldsContainer(), env.getFieldDefinition());
+        String key = coordinates.getTypeName() + "." + coordinates.getFieldName();
+
+        return weights.computeIfAbsent(key, k -> {
+
+            Integer configured = properties.weights().get(k);
+
+            if (configured != null) {
+                return configured.longValue();
+            }
+
+            boolean trivial = codeRegistry.getDataFetcher(coordinates, env.getFieldDefinition())
+                    instanceof TrivialDataFetcher;
+            return trivial ? 0L : properties.defaultWeight();
+        });
+    }
+
+    /**
+     * Retrieves the number of items a field may return.
+     *
+     * @param env The environment of the field.
+     * @return The page size of a paginated field, the maximum page size of a root list, otherwise one.
+     */
+    private long multiplier(QueryVisitorFieldEnvironment env) {
+
+        if (env.getFieldDefinition().getArgument(ARGUMENT_FIRST) != null) {
+            return inputHelper.initPageSize((Integer) env.getArguments().get(ARGUMENT_FIRST));
+        }
+
+        if (env.getArguments().get(ARGUMENT_FILTER) instanceof Map<?, ?> filter) {
+            return inputHelper.initPageSize(filter.get(FILTER_LIMIT) instanceof Integer limit ? limit : null);
+        }
+
+        if (env.getParentEnvironment() == null &&
+                GraphQLTypeUtil.isList(GraphQLTypeUtil.unwrapNonNull(env.getFieldDefinition().getType()))) {
+            return Constants.PAGE_SIZE_MAX;
+        }
+
+        return 1;
+    }
+
+    /**
+     * Multiplies two non-negative numbers, saturating at the maximum long value.
+     *
+     * @param a The first factor.
+     * @param b The second factor.
+     * @return The product, or the maximum long value if it overflows.
+     */
+    private static long multiply(long a, long b) {
+
+        try {
+            return Math.multiplyExact(a, b);
+        } catch (ArithmeticException exception) {
+            return Long.MAX_VALUE;
+        }
+    }
+
+    /**
+     * Visitor accumulating the depth and cost of an operation in pre-order, so every field knows the number
+     * of items its ancestors may return. Introspection fields are skipped, they are bounded by the schema.
+     * The traversal quits once the depth exceeds the ceiling, as the operation is rejected anyway.
+     */
+    private class CostVisitor extends QueryVisitorStub {
+
+        private final GraphQLCodeRegistry codeRegistry;
+        private final Map<QueryVisitorFieldEnvironment, Long> scales = new HashMap<>();
+        private final Map<QueryVisitorFieldEnvironment, Integer> depths = new HashMap<>();
+        private int depth;
+        private long cost;
+
+        private CostVisitor(GraphQLCodeRegistry codeRegistry) {
+            this.codeRegistry = codeRegistry;
+        }
+
+        @Override
+        public TraversalControl visitFieldWithControl(QueryVisitorFieldEnvironment env) {
+
+            if (env.isTypeNameIntrospectionField() || env.getFieldDefinition().getName().startsWith("__")) {
+                return TraversalControl.ABORT;
+            }
+
+            QueryVisitorFieldEnvironment parent = env.getParentEnvironment();
+            int fieldDepth = parent == null ? 1 : depths.get(parent) + 1;
+            long scale = parent == null ? 1 : scales.get(parent);
+
+            depth = Math.max(depth, fieldDepth);
+            long fieldCost = multiply(scale, weight(codeRegistry, env));
+            cost = fieldCost > Long.MAX_VALUE - cost ? Long.MAX_VALUE : cost + fieldCost;
+
+            if (depth > properties.maxDepth()) {
+                return TraversalControl.QUIT;
+            }
+
+            depths.put(env, fieldDepth);
+            scales.put(env, multiply(scale, multiplier(env)));
+            return TraversalControl.CONTINUE;
+        }
+    }
+}
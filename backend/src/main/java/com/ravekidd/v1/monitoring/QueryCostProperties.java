@@ -0,0 +1,26 @@
+package com.ravekidd.v1.monitoring;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.util.Map;
+
+/**
+ * Configuration of the static cost analysis of the GraphQL operations.
+ *
+ * @param maxDepth      The maximum depth of the selected fields, introspection excluded.
+ * @param maxCost       The maximum estimated cost of an operation.
+ * @param defaultWeight The cost of a field resolved by a controller or batch loader.
+ *                      Fields read from the properties of their parent cost nothing.
+ * @param weights       Map of field coordinates, e.g. Query.searchPosts, to the cost overriding the default weight.
+ */
+@ConfigurationProperties("ravekidd.graphql.cost")
+public record QueryCostProperties(@DefaultValue("12") int maxDepth,
+                                  @DefaultValue("5000") long maxCost,
+                                  @DefaultValue("1") int defaultWeight,
+                                  Map<String, Integer> weights) {
+
+    public QueryCostProperties {
+        weights = weights == null ? Map.of() : Map.copyOf(weights);
+    }
+}
@@ -0,0 +1,134 @@
+package com.ravekidd.v1.monitoring;
+
+import graphql.execution.instrumentation.InstrumentationState;
+
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Statistics of the SQL statements executed and result rows read by one GraphQL operation.
+ * The statistics are bound to the executing thread, together with the scope (a field or a batch loader)
+ * currently running, so the {@link StatisticsDataSource} can attribute every statement without knowing the operation.
+ */
+public class QueryStatistics implements InstrumentationState {
+
+    private static final ThreadLocal<Binding> CURRENT = new ThreadLocal<>();
+    private static final String OPERATION_SCOPE = "operation";
+
+    private final AtomicLong statements = new AtomicLong();
+    private final AtomicLong rows = new AtomicLong();
+    private final Map<String, Counts> scopes = new ConcurrentHashMap<>();
+    private volatile String operation = "anonymous";
+
+    /**
+     * Binds the statistics and a scope to the current thread.
+     *
+     * @param scope The scope of the statements, or null for the operation itself.
+     * @return A callback restoring the previous binding, which must run on the same thread.
+     */
+    public Runnable bind(String scope) {
+
+        Binding previous = CURRENT.get();
+        CURRENT.set(new Binding(this, scope == null ? OPERATION_SCOPE : scope));
+
+        return () -> {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        };
+    }
+
+    /**
+     * Runs a task within a scope of the operation bound to the current thread.
+     * Used by the batch loaders, whose statements do not run inside any field fetch.
+     *
+     * @param scope The scope of the statements.
+     * @param task  The task to run.
+     * @return The result of the task.
+     * @throws Exception If the task fails.
+     */
+    public static <T> T withinScope(String scope, Callable<T> task) throws Exception {
+
+        Binding binding = CURRENT.get();
+
+        if (binding == null) {
+            return task.call();
+        }
+
+        Runnable restore = binding.statistics().bind(scope);
+
+        try {
+            return task.call();
+        } finally {
+            restore.run();
+        }
+    }
+
+    /**
+     * Records a statement for the operation and scope bound to the current thread, if any.
+     */
+    public static void recordStatement() {
+
+        Binding binding = CURRENT.get();
+
+        if (binding != null) {
+            binding.statistics().statements.incrementAndGet();
+            binding.statistics().counts(binding.scope()).statements().incrementAndGet();
+        }
+    }
+
+    /**
+     * Records a result row read for the operation and scope bound to the current thread, if any.
+     */
+    public static void recordRow() {
+
+        Binding binding = CURRENT.get();
+
+        if (binding != null) {
+            binding.statistics().rows.incrementAndGet();
+            binding.statistics().counts(binding.scope()).rows().incrementAndGet();
+        }
+    }
+
+    public long getStatements() {
+        return statements.get();
+    }
+
+    public long getRows() {
+        return rows.get();
+    }
+
+    public Map<String, Counts> getScopes() {
+        return scopes;
+    }
+
+    public String getOperation() {
+        return operation;
+    }
+
+    public void setOperation(String operation) {
+        this.operation = operation;
+    }
+
+    private Counts counts(String scope) {
+        return scopes.computeIfAbsent(scope, key -> new Counts(new AtomicLong(), new AtomicLong()));
+    }
+
+    /**
+     * Statements and rows of one scope.
+     */
+    public record Counts(AtomicLong statements, AtomicLong rows) {
+
+        @Override
+        public String toString() {
+            return statements + " statements/" + rows + " rows";
+        }
+    }
+
+    private record Binding(QueryStatistics statistics, String scope) {
+    }
+}
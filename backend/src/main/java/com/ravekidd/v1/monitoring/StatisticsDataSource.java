@@ -0,0 +1,112 @@
+package com.ravekidd.v1.monitoring;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Set;
+
+/**
+ * DataSource counting the SQL statements executed and the rows read through its connections for the
+ * {@link QueryStatistics} bound to the thread. Counting at the JDBC level covers every client of the DataSource:
+ * Hibernate entity and projection queries, native and bulk statements, and the JdbcTemplate.
+ * A statement is counted once per execution, so a JDBC batch counts as one statement, and a row is counted
+ * once per successful {@link ResultSet#next()} on a query result.
+ */
+public class StatisticsDataSource extends DelegatingDataSource {
+
+    private static final Set<String> STATEMENT_FACTORIES = Set.of("createStatement", "prepareStatement", "prepareCall");
+    private static final Set<String> EXECUTIONS = Set.of("execute", "executeQuery", "executeUpdate",
+            "executeLargeUpdate", "executeBatch", "executeLargeBatch");
+    private static final Set<String> RESULT_SETS = Set.of("executeQuery", "getResultSet");
+
+    /**
+     * Constructor for StatisticsDataSource.
+     *
+     * @param target The DataSource to count the statements of.
+     */
+    public StatisticsDataSource(DataSource target) {
+        super(target);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return connection(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return connection(super.getConnection(username, password));
+    }
+
+    private Connection connection(Connection connection) {
+        return proxy(Connection.class, (proxy, method, args) -> {
+
+            Object result = invoke(connection, method, args);
+
+            if (STATEMENT_FACTORIES.contains(method.getName())) {
+                return statement((Statement) result, proxy, method.getReturnType());
+            }
+
+            return result;
+        });
+    }
+
+    private Object statement(Statement statement, Object connection, Class<?> type) {
+        return proxy(type, (proxy, method, args) -> {
+
+            if (method.getName().equals("getConnection")) {
+                return connection;
+            }
+
+            if (EXECUTIONS.contains(method.getName())) {
+                QueryStatistics.recordStatement();
+            }
+
+            Object result = invoke(statement, method, args);
+
+            if (result instanceof ResultSet resultSet && RESULT_SETS.contains(method.getName())) {
+                return resultSet(resultSet, proxy);
+            }
+
+            return result;
+        });
+    }
+
+    private ResultSet resultSet(ResultSet resultSet, Object statement) {
+        return proxy(ResultSet.class, (proxy, method, args) -> {
+
+            if (method.getName().equals("getStatement")) {
+                return statement;
+            }
+
+            Object result = invoke(resultSet, method, args);
+
+            if (method.getName().equals("next") && Boolean.TRUE.equals(result)) {
+                QueryStatistics.recordRow();
+            }
+
+            return result;
+        });
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, handler);
+    }
+}
@@ -1,7 +1,11 @@
 package com.ravekidd.v1.security.token;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import com.ravekidd.v1.consts.Constants;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.security.authentication.AuthenticationCredentialsNotFoundException;
@@ -16,10 +20,21 @@ import static com.ravekidd.v1.consts.Messages.UNSUCCESSFUL_TOKEN_VALIDATION;
 
 /**
  * JWTProvider class responsible for generating, parsing, and validating JWT tokens.
+ * Tokens are parsed with a single reusable parser, and the claims of verified tokens are kept
+ * until the token expires, so a token is verified at most once while it stays in the cache.
  */
 @Component
 public class JWTProvider {
 
+    private final JwtParser parser = Jwts.parser()
+            .setSigningKey(Constants.KEY)
+            .build();
+
+    private final Cache<String, Claims> verifiedTokens = Caffeine.newBuilder()
+            .maximumSize(Constants.JWT_VERIFIED_CACHE_SIZE)
+            .expireAfter(new TokenExpiry())
+            .build();
+
     /**
      * Generates a JWT token based on the provided authentication information.
      *
@@ -41,20 +56,14 @@ public class JWTProvider {
     }
 
     /**
-     * Retrieves the username from a JWT token.
+     * Retrieves the username from a JWT token, validating the token in the same pass.
      *
      * @param token The JWT token.
      * @return The username extracted from the JWT token.
+     * @throws AuthenticationCredentialsNotFoundException If the token is expired or incorrect.
      */
     public String getUsernameFromJWT(String token) {
-
-        Claims claims = Jwts.parser()
-                .setSigningKey(Constants.KEY)
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
-
-        return claims.getSubject();
+        return getClaims(token).getSubject();
     }
 
     /**
@@ -82,16 +91,61 @@ public class JWTProvider {
      * @throws AuthenticationCredentialsNotFoundException If the token is expired or incorrect.
      */
     public boolean validateToken(String token) {
+        getClaims(token);
+        return true;
+    }
+
+    /**
+     * Retrieves the verified claims of a JWT token. The signature is only checked if the token
+     * is not found among the recently verified tokens.
+     *
+     * @param token The JWT token.
+     * @return The claims of the JWT token.
+     * @throws AuthenticationCredentialsNotFoundException If the token is expired or incorrect.
+     */
+    public Claims getClaims(String token) {
+
+        Claims claims = verifiedTokens.getIfPresent(token);
+
+        if (claims != null) {
+            return claims;
+        }
 
         try {
-            Jwts.parser()
-                    .setSigningKey(Constants.KEY)
-                    .build()
-                    .parseClaimsJws(token);
-            return true;
+            claims = parser.parseClaimsJws(token).getBody();
 
         } catch (Exception e) {
             throw new AuthenticationCredentialsNotFoundException(UNSUCCESSFUL_TOKEN_VALIDATION.get(), e);
         }
+        verifiedTokens.put(token, claims);
+        return claims;
+    }
+
+    /**
+     * Expiry policy evicting a verified token when the token itself expires.
+     */
+    private static class TokenExpiry implements Expiry<String, Claims> {
+
+        @Override
+        public long expireAfterCreate(String token, Claims claims, long currentTime) {
+
+            Date expiration = claims.getExpiration();
+
+            if (expiration == null) {
+                return Constants.JWT_EXPIRATION.toNanos();
+            }
+            long millis = expiration.getTime() - System.currentTimeMillis();
+            return Math.max(0, millis) * 1_000_000;
+        }
+
+        @Override
+        public long expireAfterUpdate(String token, Claims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+
+        @Override
+        public long expireAfterRead(String token, Claims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
     }
 }
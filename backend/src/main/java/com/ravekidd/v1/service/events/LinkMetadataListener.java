@@ -0,0 +1,63 @@
+package com.ravekidd.v1.service.events;
+
+import com.ravekidd.v1.service.media.LinkMetadataService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Listener resolving the link metadata of created and updated posts in the background,
+ * once the change is committed, so creating a post never waits for the provider of its link.
+ */
+@Component
+@ConditionalOnProperty(name = "ravekidd.media.enabled", havingValue = "true", matchIfMissing = true)
+public class LinkMetadataListener {
+
+    private final LinkMetadataService linkMetadataService;
+
+    /**
+     * Constructor for LinkMetadataListener.
+     *
+     * @param linkMetadataService The service resolving the link metadata of posts.
+     */
+    @Autowired
+    public LinkMetadataListener(LinkMetadataService linkMetadataService) {
+        this.linkMetadataService = linkMetadataService;
+    }
+
+    /**
+     * Resolves the link of a created post.
+     *
+     * @param event The event of the created post.
+     */
+    @Async
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onPostCreated(PostCreatedEvent event) {
+        linkMetadataService.refresh(event.postId());
+    }
+
+    /**
+     * Resolves the link of an updated post, unless the link is unchanged and already resolved.
+     *
+     * @param event The event of the updated post.
+     */
+    @Async
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onPostUpdated(PostUpdatedEvent event) {
+        linkMetadataService.refresh(event.postId());
+    }
+
+    /**
+     * Removes the link metadata of a deleted post.
+     *
+     * @param event The event of the deleted post.
+     */
+    @Async
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onPostDeleted(PostDeletedEvent event) {
+        linkMetadataService.remove(event.postId());
+    }
+}
@@ -0,0 +1,13 @@
+package com.ravekidd.v1.service.events;
+
+import java.time.LocalDateTime;
+
+/**
+ * Event published when a post is created, after which the post is fanned out to the timelines of the followers.
+ *
+ * @param postId   The ID of the created post.
+ * @param authorId The ID of the author of the post.
+ * @param date     The date of the post.
+ */
+public record PostCreatedEvent(Long postId, Long authorId, LocalDateTime date) {
+}
@@ -0,0 +1,9 @@
+package com.ravekidd.v1.service.events;
+
+/**
+ * Event published when a post is deleted, after which the post is removed from the search index.
+ *
+ * @param postId The ID of the deleted post.
+ */
+public record PostDeletedEvent(Long postId) {
+}
@@ -0,0 +1,154 @@
+package com.ravekidd.v1.service.events;
+
+import com.ravekidd.v1.service.repositories.PostRepository;
+import com.ravekidd.v1.service.search.PostDocument;
+import com.ravekidd.v1.service.search.PostSearchIndex;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Listener keeping the search index in sync with the posts. Runs asynchronously once the change is committed,
+ * so a failed transaction never reaches the index and a slow index never delays a request.
+ * An empty index is rebuilt from the database on startup.
+ */
+@Component
+public class PostIndexListener {
+
+    private static final Logger LOG = LogManager.getLogger(PostIndexListener.class);
+    private final PostSearchIndex postSearchIndex;
+    private final PostRepository postRepository;
+    private final int rebuildBatchSize;
+
+    /**
+     * Constructor for PostIndexListener.
+     *
+     * @param postSearchIndex  The search index of the posts.
+     * @param postRepository   The repository for managing post data.
+     * @param rebuildBatchSize The number of posts read from the database in one query when rebuilding the index.
+     */
+    @Autowired
+    public PostIndexListener(PostSearchIndex postSearchIndex,
+                             PostRepository postRepository,
+                             @Value("${ravekidd.search.rebuild-batch-size:1000}") int rebuildBatchSize) {
+        this.postSearchIndex = postSearchIndex;
+        this.postRepository = postRepository;
+        this.rebuildBatchSize = rebuildBatchSize;
+    }
+
+    /**
+     * Indexes a created post.
+     *
+     * @param event The event of the created post.
+     */
+    @Async
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onPostCreated(PostCreatedEvent event) {
+        reindex(event.postId());
+    }
+
+    /**
+     * Re-indexes an updated post.
+     *
+     * @param event The event of the updated post.
+     */
+    @Async
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onPostUpdated(PostUpdatedEvent event) {
+        reindex(event.postId());
+    }
+
+    /**
+     * Removes a deleted post from the index.
+     *
+     * @param event The event of the deleted post.
+     */
+    @Async
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onPostDeleted(PostDeletedEvent event) {
+
+        try {
+            postSearchIndex.delete(event.postId());
+            LOG.debug("Post {} was removed from the search index.", event.postId());
+
+        } catch (IOException exception) {
+            LOG.warn("Post {} could not be removed from the search index.", event.postId(), exception);
+        }
+    }
+
+    /**
+     * Re-indexes the posts of a user who changed their username.
+     *
+     * @param event The event of the renamed user.
+     */
+    @Async
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onUserRenamed(UserRenamedEvent event) {
+
+        List<PostDocument> documents = postRepository.findDocumentsByUserId(event.userId());
+
+        try {
+            postSearchIndex.index(documents);
+            LOG.debug("{} posts of user {} were re-indexed.", documents.size(), event.userId());
+
+        } catch (IOException exception) {
+            LOG.warn("Posts of user {} could not be re-indexed.", event.userId(), exception);
+        }
+    }
+
+    /**
+     * Rebuilds the index from the database if it is empty, e.g. on the first start or after the index was deleted.
+     */
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildIfEmpty() {
+
+        if (postSearchIndex.size() > 0) {
+            return;
+        }
+
+        LOG.debug("Search index is empty, indexing all posts...");
+        PageRequest page = PageRequest.of(0, rebuildBatchSize);
+        long lastId = 0;
+        int indexed = 0;
+
+        try {
+            List<PostDocument> documents = postRepository.findDocumentsAfter(lastId, page);
+
+            while (!documents.isEmpty()) {
+                postSearchIndex.index(documents);
+                indexed += documents.size();
+                lastId = documents.get(documents.size() - 1).postId();
+                documents = postRepository.findDocumentsAfter(lastId, page);
+            }
+            postSearchIndex.commit();
+            LOG.debug("Search index was rebuilt with {} posts.", indexed);
+
+        } catch (IOException exception) {
+            LOG.warn("Search index could not be rebuilt after {} posts.", indexed, exception);
+        }
+    }
+
+    private void reindex(Long postId) {
+
+        try {
+            List<PostDocument> documents = postRepository.findDocumentById(postId).stream().toList();
+            postSearchIndex.index(documents);
+            LOG.debug("Post {} was indexed.", postId);
+
+        } catch (IOException exception) {
+            LOG.warn("Post {} could not be indexed.", postId, exception);
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.ravekidd.v1.service.events;
+
+/**
+ * Event published when the description or link of a post is updated, after which the post is re-indexed.
+ *
+ * @param postId The ID of the updated post.
+ */
+public record PostUpdatedEvent(Long postId) {
+}
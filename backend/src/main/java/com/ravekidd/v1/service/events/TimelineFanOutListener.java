@@ -0,0 +1,67 @@
+package com.ravekidd.v1.service.events;
+
+import com.ravekidd.v1.service.repositories.TimelineRepository;
+import com.ravekidd.v1.service.repositories.UserRepository;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Listener fanning out new posts to the timelines of the followers of their author (fan-out-on-write).
+ * Runs asynchronously once the post is committed, with a single INSERT ... SELECT over the followers.
+ * Posts of authors with more followers than the celebrity threshold are not fanned out; they are merged
+ * into the feeds at read time instead (fan-out-on-read). An author dropping back under the threshold keeps
+ * the posts written as a celebrity out of the timelines, so they only show in the feeds again after a follower
+ * re-follows, which backfills the timeline.
+ */
+@Component
+public class TimelineFanOutListener {
+
+    private static final Logger LOG = LogManager.getLogger(TimelineFanOutListener.class);
+    private final TimelineRepository timelineRepository;
+    private final UserRepository userRepository;
+    private final long celebrityThreshold;
+
+    /**
+     * Constructor for TimelineFanOutListener.
+     *
+     * @param timelineRepository The repository for managing the timelines.
+     * @param userRepository     The repository for managing user data.
+     * @param celebrityThreshold The number of followers above which posts are not fanned out.
+     */
+    @Autowired
+    public TimelineFanOutListener(TimelineRepository timelineRepository,
+                                  UserRepository userRepository,
+                                  @Value("${ravekidd.feed.celebrity-threshold:10000}") long celebrityThreshold) {
+        this.timelineRepository = timelineRepository;
+        this.userRepository = userRepository;
+        this.celebrityThreshold = celebrityThreshold;
+    }
+
+    /**
+     * Fans out a created post to the timelines of the followers of its author and to the author's own timeline.
+     *
+     * @param event The event of the created post.
+     */
+    @Async
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onPostCreated(PostCreatedEvent event) {
+
+        long followers = userRepository.findFollowerCountById(event.authorId()).orElse(0L);
+
+        if (followers > celebrityThreshold) {
+            LOG.debug("Post {} of celebrity {} with {} followers is merged into feeds on read.",
+                    event.postId(), event.authorId(), followers);
+            return;
+        }
+
+        int fannedOut = timelineRepository.fanOut(event.postId(), event.authorId(), event.date()) +
+                timelineRepository.insertEntry(event.authorId(), event.postId(), event.authorId(), event.date());
+        LOG.debug("Post {} was fanned out to {} timelines.", event.postId(), fannedOut);
+    }
+}
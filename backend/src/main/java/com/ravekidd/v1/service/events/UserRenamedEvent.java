@@ -0,0 +1,9 @@
+package com.ravekidd.v1.service.events;
+
+/**
+ * Event published when a user changes their username, after which the posts of the user are re-indexed.
+ *
+ * @param userId The ID of the renamed user.
+ */
+public record UserRenamedEvent(Long userId) {
+}
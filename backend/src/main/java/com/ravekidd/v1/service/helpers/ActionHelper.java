@@ -1,8 +1,13 @@
 package com.ravekidd.v1.service.helpers;
 
 import com.ravekidd.v1.exception.ServerException;
+import com.ravekidd.v1.model.FetchPlan;
 import com.ravekidd.v1.model.Post;
+import com.ravekidd.v1.model.PostView;
 import com.ravekidd.v1.model.User;
+import com.ravekidd.v1.model.filter.PostFilter;
+import com.ravekidd.v1.model.filter.PostSort;
+import com.ravekidd.v1.service.repositories.PostFilterRepository;
 import com.ravekidd.v1.service.repositories.PostRepository;
 import com.ravekidd.v1.service.repositories.UserRepository;
 import org.apache.logging.log4j.LogManager;
@@ -11,10 +16,12 @@ import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Component;
 
 import java.time.LocalDateTime;
-import java.util.Arrays;
-import java.util.List;
+import java.util.*;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
+import static com.ravekidd.v1.consts.Constants.PAGE_SIZE_MAX;
+import static com.ravekidd.v1.consts.Constants.ROLE_ADMIN;
 import static com.ravekidd.v1.consts.Messages.*;
 
 /**
@@ -37,6 +44,17 @@ public class ActionHelper {
         }
     }
 
+    /**
+     * Checks whether the authenticated user has the ADMIN role.
+     *
+     * @param authentication The authentication object.
+     * @return True if the user is an admin.
+     */
+    public boolean isAdmin(Authentication authentication) {
+        return authentication.getAuthorities().stream()
+                .anyMatch(authority -> ROLE_ADMIN.equals(authority.getAuthority()));
+    }
+
     /**
      * Finds a user by their username.
      *
@@ -50,6 +68,19 @@ public class ActionHelper {
                 .orElseThrow(() -> new ServerException(UNSUCCESSFUL_FIND_USER_BY_USERNAME.get().formatted(username)));
     }
 
+    /**
+     * Finds the ID of a user by their username, without loading the user.
+     *
+     * @param username       The username of the user to find.
+     * @param userRepository The repository for user entities.
+     * @return The ID of the founded user.
+     * @throws ServerException if the user is not found.
+     */
+    public Long findUserIdByUsername(String username, UserRepository userRepository) throws ServerException {
+        return userRepository.findIdByUsername(username)
+                .orElseThrow(() -> new ServerException(UNSUCCESSFUL_FIND_USER_BY_USERNAME.get().formatted(username)));
+    }
+
     /**
      * Finds a user by their ID.
      *
@@ -77,17 +108,20 @@ public class ActionHelper {
     }
 
     /**
-     * Retrieves a list of posts by their IDs.
+     * Retrieves a list of read-only posts by their IDs, newest first.
      *
-     * @param ids            The IDs of the posts to retrieve.
-     * @param postRepository The repository for post entities.
+     * @param ids                  The IDs of the posts to retrieve.
+     * @param plan                 The plan of the associations fetched with the posts.
+     * @param postFilterRepository The repository compiling post filters.
      * @return The list of found posts.
      * @throws ServerException if no posts are found for the given ID.
      */
-    public List<Post> getPostsByIds(String[] ids, PostRepository postRepository) throws ServerException {
+    public List<PostView> getPostsByIds(String[] ids, FetchPlan plan, PostFilterRepository postFilterRepository)
+            throws ServerException {
 
-        List<Long> postIds = Arrays.stream(ids).map(Long::parseLong).collect(Collectors.toList());
-        List<Post> posts = postRepository.findAllById(postIds);
+        List<Long> postIds = parseIds(ids);
+        List<PostView> posts = postFilterRepository.findViews(
+                new PostFilter(postIds, null, null, null, PostSort.NEWEST, null), plan);
 
         if (posts == null || posts.isEmpty()) {
             LOG.debug("No posts found for the provided IDs: {}", postIds);
@@ -97,17 +131,20 @@ public class ActionHelper {
     }
 
     /**
-     * Retrieves a list of posts by their user ID.
+     * Retrieves a list of read-only posts by their user ID, the newest first and at most the maximum page size.
      *
-     * @param ids            The user IDs for which to retrieve posts.
-     * @param postRepository The repository for post entities.
+     * @param ids                  The user IDs for which to retrieve posts.
+     * @param plan                 The plan of the associations fetched with the posts.
+     * @param postFilterRepository The repository compiling post filters.
      * @return The list of found posts.
      * @throws ServerException if no posts are found for the given user ID.
      */
-    public List<Post> getPostsByUserIds(String[] ids, PostRepository postRepository) throws ServerException {
+    public List<PostView> getPostsByUserIds(String[] ids, FetchPlan plan, PostFilterRepository postFilterRepository)
+            throws ServerException {
 
-        List<Long> userIds = Arrays.stream(ids).map(Long::parseLong).collect(Collectors.toList());
-        List<Post> posts = postRepository.findByUserIdIn(userIds);
+        List<Long> userIds = parseIds(ids);
+        List<PostView> posts = postFilterRepository.findViews(
+                new PostFilter(null, userIds, null, null, PostSort.NEWEST, PAGE_SIZE_MAX), plan);
 
         if (posts == null || posts.isEmpty()) {
             LOG.debug("No posts found for the provided user IDs: {}", userIds);
@@ -117,18 +154,21 @@ public class ActionHelper {
     }
 
     /**
-     * Retrieves a list of posts by date range.
+     * Retrieves a list of read-only posts by date range, the newest first and at most the maximum page size.
      *
-     * @param dateFrom       The start of the date range.
-     * @param dateTo         The end of the date range.
-     * @param postRepository The repository for post entities.
+     * @param dateFrom             The start of the date range.
+     * @param dateTo               The end of the date range.
+     * @param plan                 The plan of the associations fetched with the posts.
+     * @param postFilterRepository The repository compiling post filters.
      * @return The list of found posts.
      * @throws ServerException if no posts are found within the specified date range.
      */
-    public List<Post> getPostsByDates(LocalDateTime dateFrom, LocalDateTime dateTo, PostRepository postRepository)
-            throws ServerException {
+    public List<PostView> getPostsByDates(LocalDateTime dateFrom, LocalDateTime dateTo, FetchPlan plan,
+                                          PostFilterRepository postFilterRepository) throws ServerException {
 
-        List<Post> posts = postRepository.findByDateBetween(dateFrom, dateTo);
+        List<PostView> posts = postFilterRepository.findViews(
+                new PostFilter(null, null, dateFrom.toString(), dateTo.toString(), PostSort.NEWEST, PAGE_SIZE_MAX),
+                plan);
 
         if (posts == null || posts.isEmpty()) {
             LOG.debug("Posts between dates %s and %s were not found.".formatted(dateFrom.toString(), dateTo.toString()));
@@ -142,14 +182,18 @@ public class ActionHelper {
      * Retrieves a list of users by their ID.
      *
      * @param ids            The IDs of the users to retrieve.
+     * @param plan           The plan of the associations fetched with the users.
      * @param userRepository The repository for user entities.
      * @return The list of found users.
      * @throws ServerException if no users are found for the given ID.
      */
-    public List<User> getUsersByIds(String[] ids, UserRepository userRepository) throws ServerException {
+    public List<User> getUsersByIds(String[] ids, FetchPlan plan, UserRepository userRepository)
+            throws ServerException {
 
-        List<Long> userIds = Arrays.stream(ids).map(Long::parseLong).collect(Collectors.toList());
-        List<User> users = userRepository.findAllById(userIds);
+        List<Long> userIds = parseIds(ids);
+        List<User> users = plan.roles()
+                ? userRepository.findAllById(userIds)
+                : userRepository.findSummariesByIdIn(userIds);
 
         if (users == null || users.isEmpty()) {
             LOG.debug("No users found for the provided IDs: {}", userIds);
@@ -162,13 +206,17 @@ public class ActionHelper {
      * Retrieves a list of users by their username.
      *
      * @param usernames      The usernames of the users to retrieve.
+     * @param plan           The plan of the associations fetched with the users.
      * @param userRepository The repository for user entities.
      * @return The list of found users.
      * @throws ServerException if no users are found for the given username.
      */
-    public List<User> getUsersByUsernames(String[] usernames, UserRepository userRepository) throws ServerException {
+    public List<User> getUsersByUsernames(String[] usernames, FetchPlan plan, UserRepository userRepository)
+            throws ServerException {
 
-        List<User> users = userRepository.findByUsernameIn(Arrays.asList(usernames));
+        List<User> users = plan.roles()
+                ? userRepository.findByUsernameIn(Arrays.asList(usernames))
+                : userRepository.findSummariesByUsernameIn(Arrays.asList(usernames));
 
         if (users == null || users.isEmpty()) {
             LOG.debug("No users found for the provided usernames: {}", Arrays.toString(usernames));
@@ -176,4 +224,70 @@ public class ActionHelper {
         }
         return users;
     }
+
+    /**
+     * Groups users by the ID of the entity they belong to, e.g. the likes of a post or a comment.
+     * Users are loaded with a single query, regardless of the number of owners.
+     *
+     * @param ownerIds       The IDs of the owning entities.
+     * @param pairs          Pairs of [ownerId, userId] as returned by the join table queries.
+     * @param userRepository The repository for user entities.
+     * @return A map of owner ID to its users. Owners without users are mapped to an empty list.
+     */
+    public Map<Long, List<User>> groupUsersByOwner(Set<Long> ownerIds, List<Object[]> pairs,
+                                                   UserRepository userRepository) {
+        return groupByOwner(ownerIds, pairs, userRepository::findByIdIn, User::getId);
+    }
+
+    /**
+     * Groups entities by the ID of their owner, e.g. the comments of a post, in the order of the pairs.
+     * The entities are loaded with a single query, regardless of the number of owners.
+     *
+     * @param ownerIds The IDs of the owning entities.
+     * @param pairs    Pairs of [ownerId, entityId] as returned by the page queries.
+     * @param loader   Function loading the entities by their IDs.
+     * @param id       Function returning the ID of an entity.
+     * @param <T>      The type of the entities.
+     * @return A map of owner ID to its entities. Owners without entities are mapped to an empty list.
+     */
+    public <T> Map<Long, List<T>> groupByOwner(Set<Long> ownerIds, List<Object[]> pairs,
+                                               Function<Set<Long>, List<T>> loader, Function<T, Long> id) {
+
+        Map<Long, List<T>> grouped = new HashMap<>();
+        ownerIds.forEach(ownerId -> grouped.put(ownerId, new ArrayList<>()));
+
+        if (pairs.isEmpty()) {
+            return grouped;
+        }
+
+        Set<Long> entityIds = pairs.stream().map(pair -> (Long) pair[1]).collect(Collectors.toSet());
+        Map<Long, T> entities = loader.apply(entityIds).stream()
+                .collect(Collectors.toMap(id, Function.identity()));
+
+        for (Object[] pair : pairs) {
+            T entity = entities.get((Long) pair[1]);
+
+            if (entity != null) {
+                grouped.get((Long) pair[0]).add(entity);
+            }
+        }
+        return grouped;
+    }
+
+    /**
+     * Parses an array of string IDs into a list of Long IDs.
+     *
+     * @param ids The IDs to parse.
+     * @return The list of parsed IDs.
+     * @throws NumberFormatException if an ID is not a number.
+     */
+    public List<Long> parseIds(String[] ids) {
+
+        List<Long> parsedIds = new ArrayList<>(ids.length);
+
+        for (String id : ids) {
+            parsedIds.add(Long.parseLong(id));
+        }
+        return parsedIds;
+    }
 }
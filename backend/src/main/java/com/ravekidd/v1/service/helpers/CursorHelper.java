@@ -0,0 +1,70 @@
+package com.ravekidd.v1.service.helpers;
+
+import com.ravekidd.v1.exception.ServerException;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+
+import static com.ravekidd.v1.consts.Messages.UNSUCCESSFUL_INVALID_CURSOR;
+
+/**
+ * Helper class for encoding and decoding the opaque cursors of paginated queries.
+ * A cursor holds the keyset values of the last returned row, e.g. the date and ID of a post.
+ */
+@Component
+public class CursorHelper {
+
+    private static final Logger LOG = LogManager.getLogger(CursorHelper.class);
+    private static final String SEPARATOR = "|";
+
+    /**
+     * Encodes the keyset values of a row into an opaque cursor.
+     *
+     * @param values The keyset values of the row.
+     * @return The encoded cursor.
+     */
+    public String encode(Object... values) {
+
+        StringBuilder builder = new StringBuilder();
+
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                builder.append(SEPARATOR);
+            }
+            builder.append(values[i]);
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(
+                builder.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes an opaque cursor and parses its keyset values.
+     *
+     * @param cursor The encoded cursor.
+     * @param size   The expected number of keyset values.
+     * @param parser Function parsing the keyset values.
+     * @param <T>    The type of the parsed cursor.
+     * @return The parsed cursor.
+     * @throws ServerException if the cursor is malformed.
+     */
+    public <T> T decode(String cursor, int size, Function<String[], T> parser) throws ServerException {
+
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] values = decoded.split(Pattern.quote(SEPARATOR), -1);
+
+            if (values.length == size) {
+                return parser.apply(values);
+            }
+
+        } catch (RuntimeException exception) {
+            LOG.debug("Cursor {} could not be parsed.", cursor, exception);
+        }
+        throw new ServerException(UNSUCCESSFUL_INVALID_CURSOR.get().formatted(cursor));
+    }
+}
@@ -0,0 +1,58 @@
+package com.ravekidd.v1.service.helpers;
+
+import com.ravekidd.v1.model.FetchPlan;
+import graphql.schema.DataFetchingFieldSelectionSet;
+import graphql.schema.SelectedField;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+
+/**
+ * Helper class planning the associations a list query fetches from the fields selected by the client.
+ * Collections, e.g. the likes and comments of posts, are never joined into a list query, since they multiply
+ * its rows; they stay with the batch loaders and are only queried when they are selected.
+ */
+@Component
+public class FetchPlanHelper {
+
+    private static final Logger LOG = LogManager.getLogger(FetchPlanHelper.class);
+    private static final Set<String> USER_COLUMNS = Set.of("__typename", "id", "username", "image", "followerCount");
+
+    /**
+     * Plans a query of posts. The author is joined if it is selected with nothing but its columns,
+     * otherwise it is left to the users batch loader, which also resolves its roles and posts.
+     *
+     * @param selectionSet The fields selected on the posts.
+     * @return The plan of the query.
+     */
+    public FetchPlan planPosts(DataFetchingFieldSelectionSet selectionSet) {
+
+        if (selectionSet == null || !selectionSet.contains("user")) {
+            return FetchPlan.NONE;
+        }
+
+        boolean author = selectionSet.getFields("user/*").stream()
+                .map(SelectedField::getName)
+                .allMatch(USER_COLUMNS::contains);
+
+        LOG.debug("Planned a posts query {} the author.", author ? "joining" : "without");
+        return new FetchPlan(author, false);
+    }
+
+    /**
+     * Plans a query of users. The roles are loaded with the users only if they are selected.
+     * The posts of the users are left to the user posts batch loader.
+     *
+     * @param selectionSet The fields selected on the users.
+     * @return The plan of the query.
+     */
+    public FetchPlan planUsers(DataFetchingFieldSelectionSet selectionSet) {
+
+        boolean roles = selectionSet == null || selectionSet.contains("roles");
+
+        LOG.debug("Planned a users query {} the roles.", roles ? "with" : "without");
+        return new FetchPlan(false, roles);
+    }
+}
@@ -1,19 +1,26 @@
 package com.ravekidd.v1.service.helpers;
 
 import com.ravekidd.v1.consts.Constants;
+import com.ravekidd.v1.exception.ServerException;
 import com.ravekidd.v1.model.Post;
 import com.ravekidd.v1.model.PostComment;
 import com.ravekidd.v1.model.Role;
 import com.ravekidd.v1.model.User;
+import com.ravekidd.v1.model.filter.PostFilter;
+import com.ravekidd.v1.model.filter.PostSort;
 import org.springframework.stereotype.Component;
 
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
 import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashSet;
 import java.util.List;
 
+import static com.ravekidd.v1.consts.Messages.*;
+
 /**
  * Helper class for handling input-related operations.
  */
@@ -22,12 +29,15 @@ public class InputHelper {
 
     /**
      * Initializes the input parameters, setting them to empty strings if they are null.
+     * The parameter may list at most the maximum page size of values, as every listed ID or username
+     * is resolved to a row.
      *
      * @param query     The query string.
      * @param parameter The parameter string.
      * @return An array containing the initialized query and parameter.
+     * @throws ServerException if the parameter lists more values than the maximum page size.
      */
-    public String[] initInputQuery(String query, String parameter) {
+    public String[] initInputQuery(String query, String parameter) throws ServerException {
 
         if (query == null) {
             query = "";
@@ -37,9 +47,55 @@ public class InputHelper {
             parameter = "";
         }
 
+        if (parameter.split(", ").length > Constants.PAGE_SIZE_MAX) {
+            throw new ServerException(UNSUCCESSFUL_QUERY_SIZE.get().formatted(Constants.PAGE_SIZE_MAX));
+        }
+
         return new String[]{query, parameter};
     }
 
+    /**
+     * Initializes a post filter, validating its criteria and filling in the default order and limit.
+     *
+     * @param filter The filter as sent by the client.
+     * @return The filter to compile.
+     * @throws ServerException if a list of IDs is too long, a date is not ISO-8601 or the range is reversed.
+     */
+    public PostFilter initPostFilter(PostFilter filter) throws ServerException {
+
+        for (List<Long> ids : Arrays.asList(filter.ids(), filter.userIds())) {
+            if (ids != null && ids.size() > Constants.BULK_SIZE_MAX) {
+                throw new ServerException(UNSUCCESSFUL_FILTER_SIZE.get().formatted(Constants.BULK_SIZE_MAX));
+            }
+        }
+
+        LocalDateTime dateFrom = parseFilterDate(filter.dateFrom());
+        LocalDateTime dateTo = parseFilterDate(filter.dateTo());
+
+        if (dateFrom != null && dateTo != null && dateFrom.isAfter(dateTo)) {
+            throw new ServerException(UNSUCCESSFUL_INVALID_DATE_RANGE.get().formatted(filter.dateFrom(),
+                    filter.dateTo()));
+        }
+
+        return new PostFilter(filter.ids(), filter.userIds(), filter.dateFrom(), filter.dateTo(),
+                filter.sort() == null ? PostSort.NEWEST : filter.sort(), initPageSize(filter.limit()));
+    }
+
+    /**
+     * Initializes the requested page size, falling back to the default size and capping it at the maximum size.
+     *
+     * @param first The requested page size.
+     * @return The page size to query.
+     */
+    public int initPageSize(Integer first) {
+
+        if (first == null || first < 1) {
+            return Constants.PAGE_SIZE_DEFAULT;
+        }
+
+        return Math.min(first, Constants.PAGE_SIZE_MAX);
+    }
+
     /**
      * Initializes the properties of a User object, setting them to default values if they are null.
      *
@@ -63,6 +119,10 @@ public class InputHelper {
             input.setPassword("");
         }
 
+        if (input.getFollowerCount() == null) {
+            input.setFollowerCount(0L);
+        }
+
         if (input.getPosts() == null) {
             input.setPosts(new ArrayList<>());
         }
@@ -103,6 +163,14 @@ public class InputHelper {
             input.setDate(LocalDateTime.now().truncatedTo(ChronoUnit.MINUTES));
         }
 
+        if (input.getLikeCount() == null) {
+            input.setLikeCount(0L);
+        }
+
+        if (input.getCommentCount() == null) {
+            input.setCommentCount(0L);
+        }
+
         if (input.getLikes() == null) {
             input.setLikes(new HashSet<>());
         }
@@ -143,6 +211,10 @@ public class InputHelper {
             input.setDate(LocalDateTime.now());
         }
 
+        if (input.getLikeCount() == null) {
+            input.setLikeCount(0L);
+        }
+
         if (input.getLikes() == null) {
             input.setLikes(new HashSet<>());
         }
@@ -195,4 +267,17 @@ public class InputHelper {
         DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm");
         return LocalDateTime.parse(dateTimeString, formatter);
     }
+
+    private LocalDateTime parseFilterDate(String date) throws ServerException {
+
+        if (date == null) {
+            return null;
+        }
+
+        try {
+            return LocalDateTime.parse(date);
+        } catch (DateTimeParseException exception) {
+            throw new ServerException(UNSUCCESSFUL_INVALID_DATE.get().formatted(date));
+        }
+    }
 }
@@ -0,0 +1,139 @@
+package com.ravekidd.v1.service.helpers;
+
+import com.ravekidd.v1.exception.ServerException;
+import com.ravekidd.v1.service.repositories.PostCommentRepository;
+import com.ravekidd.v1.service.repositories.PostRepository;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.stereotype.Component;
+
+import static com.ravekidd.v1.consts.Messages.UNSUCCESSFUL_FIND_COMMENT_BY_ID;
+import static com.ravekidd.v1.consts.Messages.UNSUCCESSFUL_FIND_POST_BY_ID;
+
+/**
+ * Helper class acting as the like engine. Likes are written directly to the join tables with idempotent
+ * statements and the maintained like counters are adjusted only when a row was actually inserted or deleted,
+ * so a like never loads the liked entity or its collection of likes.
+ */
+@Component
+public class LikeHelper {
+
+    private static final Logger LOG = LogManager.getLogger(LikeHelper.class);
+
+    /**
+     * Adds a like of the user to the post. Liking an already liked post has no effect.
+     *
+     * @param postId         The ID of the post to like.
+     * @param userId         The ID of the user liking the post.
+     * @param postRepository The repository for post entities.
+     * @return True if the like was added, false if the post was already liked by the user.
+     * @throws ServerException if the post is not found.
+     */
+    public boolean likePost(Long postId, Long userId, PostRepository postRepository) throws ServerException {
+
+        requirePost(postId, postRepository);
+        int inserted = postRepository.insertLike(postId, userId);
+
+        if (inserted > 0) {
+            postRepository.updateLikeCount(postId, inserted);
+        }
+        LOG.debug("Like of user {} on post {} inserted rows: {}", userId, postId, inserted);
+        return inserted > 0;
+    }
+
+    /**
+     * Removes a like of the user from the post. Unliking a post that is not liked has no effect.
+     *
+     * @param postId         The ID of the post to unlike.
+     * @param userId         The ID of the user unliking the post.
+     * @param postRepository The repository for post entities.
+     * @return True if the like was removed, false if the post was not liked by the user.
+     * @throws ServerException if the post is not found.
+     */
+    public boolean unlikePost(Long postId, Long userId, PostRepository postRepository) throws ServerException {
+
+        requirePost(postId, postRepository);
+        int deleted = postRepository.deleteLike(postId, userId);
+
+        if (deleted > 0) {
+            postRepository.updateLikeCount(postId, -deleted);
+        }
+        LOG.debug("Like of user {} on post {} deleted rows: {}", userId, postId, deleted);
+        return deleted > 0;
+    }
+
+    /**
+     * Adds a like of the user to a comment of the post. Liking an already liked comment has no effect.
+     *
+     * @param postId                The ID of the post containing the comment.
+     * @param commentId             The ID of the comment to like.
+     * @param userId                The ID of the user liking the comment.
+     * @param postCommentRepository The repository for post comment entities.
+     * @return True if the like was added, false if the comment was already liked by the user.
+     * @throws ServerException if the comment is not found on the post.
+     */
+    public boolean likeComment(Long postId, Long commentId, Long userId, PostCommentRepository postCommentRepository)
+            throws ServerException {
+
+        requireComment(postId, commentId, postCommentRepository);
+        int inserted = postCommentRepository.insertLike(commentId, userId);
+
+        if (inserted > 0) {
+            postCommentRepository.updateLikeCount(commentId, inserted);
+        }
+        LOG.debug("Like of user {} on comment {} inserted rows: {}", userId, commentId, inserted);
+        return inserted > 0;
+    }
+
+    /**
+     * Removes a like of the user from a comment of the post. Unliking a comment that is not liked has no effect.
+     *
+     * @param postId                The ID of the post containing the comment.
+     * @param commentId             The ID of the comment to unlike.
+     * @param userId                The ID of the user unliking the comment.
+     * @param postCommentRepository The repository for post comment entities.
+     * @return True if the like was removed, false if the comment was not liked by the user.
+     * @throws ServerException if the comment is not found on the post.
+     */
+    public boolean unlikeComment(Long postId, Long commentId, Long userId, PostCommentRepository postCommentRepository)
+            throws ServerException {
+
+        requireComment(postId, commentId, postCommentRepository);
+        int deleted = postCommentRepository.deleteLike(commentId, userId);
+
+        if (deleted > 0) {
+            postCommentRepository.updateLikeCount(commentId, -deleted);
+        }
+        LOG.debug("Like of user {} on comment {} deleted rows: {}", userId, commentId, deleted);
+        return deleted > 0;
+    }
+
+    /**
+     * Checks that a post exists. INSERT IGNORE silently skips foreign key violations, so the check cannot be
+     * left to the database.
+     *
+     * @param postId         The ID of the post.
+     * @param postRepository The repository for post entities.
+     * @throws ServerException if the post is not found.
+     */
+    private void requirePost(Long postId, PostRepository postRepository) throws ServerException {
+        if (!postRepository.existsById(postId)) {
+            throw new ServerException(UNSUCCESSFUL_FIND_POST_BY_ID.get().formatted(postId));
+        }
+    }
+
+    /**
+     * Checks that a comment exists on the post.
+     *
+     * @param postId                The ID of the post.
+     * @param commentId             The ID of the comment.
+     * @param postCommentRepository The repository for post comment entities.
+     * @throws ServerException if the comment is not found on the post.
+     */
+    private void requireComment(Long postId, Long commentId, PostCommentRepository postCommentRepository)
+            throws ServerException {
+        if (!postCommentRepository.existsByIdAndPostId(commentId, postId)) {
+            throw new ServerException(UNSUCCESSFUL_FIND_COMMENT_BY_ID.get().formatted(commentId, postId));
+        }
+    }
+}
@@ -1,9 +1,19 @@
 package com.ravekidd.v1.service.helpers;
 
+import com.ravekidd.v1.model.PostSource;
+import com.ravekidd.v1.model.connection.Connection;
+import com.ravekidd.v1.model.connection.Edge;
+import com.ravekidd.v1.model.connection.PageInfo;
 import org.springframework.stereotype.Component;
 
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
 
 /**
  * Helper class for handling output-related operations.
@@ -21,4 +31,80 @@ public class OutputHelper {
         DateTimeFormatter formatter = DateTimeFormatter.ofPattern("dd.MM.yyyy");
         return dateTime.format(formatter);
     }
+
+    /**
+     * Transforms a page of nodes into a Relay-style connection. The page is expected to be fetched
+     * with one extra node, which is only used to determine whether a next page exists.
+     *
+     * @param nodes    The fetched nodes, at most pageSize + 1.
+     * @param pageSize The requested page size.
+     * @param cursor   Function encoding the cursor of a node.
+     * @param <T>      The type of the nodes.
+     * @return The connection holding at most pageSize nodes.
+     */
+    public <T> Connection<T> toConnection(List<T> nodes, int pageSize, Function<T, String> cursor) {
+
+        List<T> page = nodes.size() > pageSize ? nodes.subList(0, pageSize) : nodes;
+        String endCursor = page.isEmpty() ? null : cursor.apply(page.get(page.size() - 1));
+        return toConnection(page, nodes.size() > pageSize, endCursor, cursor);
+    }
+
+    /**
+     * Transforms a page of nodes into a Relay-style connection whose pagination state is determined by the caller,
+     * for pages whose nodes are filtered after they were fetched.
+     *
+     * @param nodes       The nodes of the page.
+     * @param hasNextPage Whether there are more nodes after the page.
+     * @param endCursor   Cursor of the last position of the page, which may belong to a filtered node.
+     * @param cursor      Function encoding the cursor of a node.
+     * @param <T>         The type of the nodes.
+     * @return The connection holding the nodes.
+     */
+    public <T> Connection<T> toConnection(List<T> nodes, boolean hasNextPage, String endCursor,
+                                          Function<T, String> cursor) {
+
+        List<Edge<T>> edges = nodes.stream()
+                .map(node -> new Edge<>(cursor.apply(node), node))
+                .toList();
+
+        return new Connection<>(edges, new PageInfo(hasNextPage, endCursor));
+    }
+
+    /**
+     * Merges two lists of posts, each ordered from the newest to the oldest, into one list in the same order.
+     * Posts present in both lists are kept once.
+     *
+     * @param first  The first list of posts.
+     * @param second The second list of posts.
+     * @param limit  The maximum number of merged posts.
+     * @param <T>    The type of the posts.
+     * @return The merged posts.
+     */
+    public <T extends PostSource> List<T> mergeNewestFirst(List<T> first, List<T> second, int limit) {
+
+        Comparator<PostSource> newestFirst = Comparator.comparing(PostSource::getDate)
+                .thenComparing(PostSource::getId)
+                .reversed();
+
+        List<T> merged = new ArrayList<>(limit);
+        Set<Long> ids = new HashSet<>();
+        int i = 0;
+        int j = 0;
+
+        while (merged.size() < limit && (i < first.size() || j < second.size())) {
+
+            T next;
+
+            if (j >= second.size() || (i < first.size() && newestFirst.compare(first.get(i), second.get(j)) <= 0)) {
+                next = first.get(i++);
+            } else {
+                next = second.get(j++);
+            }
+
+            if (ids.add(next.getId())) {
+                merged.add(next);
+            }
+        }
+        return merged;
+    }
 }
@@ -1,11 +1,23 @@
 package com.ravekidd.v1.service.interfaces;
 
 import com.ravekidd.v1.exception.ServerException;
+import com.ravekidd.v1.model.FetchPlan;
 import com.ravekidd.v1.model.Post;
 import com.ravekidd.v1.model.PostComment;
+import com.ravekidd.v1.model.PostLinkMetadata;
+import com.ravekidd.v1.model.PostView;
+import com.ravekidd.v1.model.User;
+import com.ravekidd.v1.model.bulk.BulkCommentInput;
+import com.ravekidd.v1.model.bulk.BulkResult;
+import com.ravekidd.v1.model.bulk.ImportPostInput;
+import com.ravekidd.v1.model.connection.Connection;
+import com.ravekidd.v1.model.connection.PageKey;
+import com.ravekidd.v1.model.filter.PostFilter;
 import org.springframework.security.core.Authentication;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * Service interface for managing posts.
@@ -13,12 +25,54 @@ import java.util.List;
 public interface IPostService {
 
     /**
-     * Retrieves a list of posts based on the given query and parameter.
+     * Retrieves a list of posts based on the given filter, or on the given query and parameter
+     * if no filter is given.
      *
+     * @param filter The filter of the posts, taking precedence over the query.
+     * @param plan   The plan of the associations fetched with the posts.
      * @return List of posts matching the criteria.
      * @throws ServerException If an error occurs during the operation.
      */
-    List<Post> getPosts(String query, String parameter, Authentication authentication) throws ServerException;
+    List<PostView> getPosts(String query, String parameter, PostFilter filter, FetchPlan plan,
+                            Authentication authentication) throws ServerException;
+
+    /**
+     * Retrieves a page of posts, ordered from the newest to the oldest.
+     *
+     * @param first          Maximum number of posts in the page.
+     * @param after          Cursor of the last post of the previous page.
+     * @param authentication Authentication of the user.
+     * @return Connection holding the page of posts.
+     * @throws ServerException If an error occurs during the operation.
+     */
+    Connection<PostView> getPostsConnection(Integer first, String after, Authentication authentication)
+            throws ServerException;
+
+    /**
+     * Retrieves a page of the home feed of the user, holding the posts of the followed users and of the user,
+     * ordered from the newest to the oldest.
+     *
+     * @param first          Maximum number of posts in the page.
+     * @param after          Cursor of the last post of the previous page.
+     * @param authentication Authentication of the user.
+     * @return Connection holding the page of posts.
+     * @throws ServerException If an error occurs during the operation.
+     */
+    Connection<PostView> getFeed(Integer first, String after, Authentication authentication) throws ServerException;
+
+    /**
+     * Searches the posts whose description, link or author username match the text, ordered by relevance.
+     * Search terms tolerate typos and the last term also matches as a prefix.
+     *
+     * @param text           The searched text.
+     * @param first          Maximum number of posts in the page.
+     * @param after          Cursor of the last post of the previous page.
+     * @param authentication Authentication of the user.
+     * @return Connection holding the page of matching posts.
+     * @throws ServerException If an error occurs during the operation.
+     */
+    Connection<PostView> searchPosts(String text, Integer first, String after, Authentication authentication)
+            throws ServerException;
 
     /**
      * Creates a new post with the given description and link.
@@ -122,4 +176,90 @@ public interface IPostService {
      * @throws ServerException If an error occurs during the operation.
      */
     Post unlikeComment(Long postId, Long commentId, Authentication authentication) throws ServerException;
+
+    /**
+     * Likes several posts in one transaction. Posts already liked by the user are reported as liked.
+     *
+     * @param postIds        IDs of the posts to like.
+     * @param authentication Authentication of the user.
+     * @return The result of every post, in input order.
+     * @throws ServerException If the user cannot be authenticated.
+     */
+    BulkResult likePosts(List<Long> postIds, Authentication authentication) throws ServerException;
+
+    /**
+     * Deletes several posts with their comments and likes in one transaction.
+     * Users can delete their own posts, admins can delete any post.
+     *
+     * @param postIds        IDs of the posts to delete.
+     * @param authentication Authentication of the user.
+     * @return The result of every post, in input order.
+     * @throws ServerException If the user cannot be authenticated.
+     */
+    BulkResult deletePosts(List<Long> postIds, Authentication authentication) throws ServerException;
+
+    /**
+     * Adds several comments, possibly to different posts, in one transaction.
+     *
+     * @param comments       The comments to add.
+     * @param authentication Authentication of the user.
+     * @return The result of every comment, in input order, holding the ID of the created comment.
+     * @throws ServerException If the user cannot be authenticated.
+     */
+    BulkResult addComments(List<BulkCommentInput> comments, Authentication authentication) throws ServerException;
+
+    /**
+     * Imports posts with their comments on behalf of their authors in one transaction, e.g. for seeding
+     * curated tracks. Only admins can import posts.
+     *
+     * @param posts          The posts to import.
+     * @param authentication Authentication of the admin.
+     * @return The result of every post, in input order, holding the ID of the created post.
+     * @throws ServerException If the user cannot be authenticated.
+     */
+    BulkResult importPosts(List<ImportPostInput> posts, Authentication authentication) throws ServerException;
+
+    /**
+     * Retrieves a page of the users who liked each of the given posts, ordered by their ID.
+     *
+     * @param keys The posts with their page arguments.
+     * @return Map of key to the page of users who liked the post, without total count.
+     * @throws ServerException If a cursor is malformed.
+     */
+    Map<PageKey, Connection<User>> getPostLikes(Set<PageKey> keys) throws ServerException;
+
+    /**
+     * Retrieves the resolved link metadata of each of the given posts.
+     *
+     * @param postIds IDs of the posts.
+     * @return Map of post ID to the metadata of its link, for the posts whose link was resolved.
+     */
+    Map<Long, PostLinkMetadata> getPostMedia(Set<Long> postIds);
+
+    /**
+     * Retrieves a page of the comments of each of the given posts, ordered by date.
+     *
+     * @param keys The posts with their page arguments.
+     * @return Map of key to the page of comments of the post, without total count.
+     * @throws ServerException If a cursor is malformed.
+     */
+    Map<PageKey, Connection<PostComment>> getPostComments(Set<PageKey> keys) throws ServerException;
+
+    /**
+     * Retrieves a page of the read-only posts of each of the given users, ordered from the newest to the oldest.
+     *
+     * @param keys The users with their page arguments.
+     * @return Map of key to the page of posts of the user, with the number of posts of the user.
+     * @throws ServerException If a cursor is malformed.
+     */
+    Map<PageKey, Connection<PostView>> getUserPosts(Set<PageKey> keys) throws ServerException;
+
+    /**
+     * Retrieves a page of the users who liked each of the given comments, ordered by their ID.
+     *
+     * @param keys The comments with their page arguments.
+     * @return Map of key to the page of users who liked the comment, without total count.
+     * @throws ServerException If a cursor is malformed.
+     */
+    Map<PageKey, Connection<User>> getCommentLikes(Set<PageKey> keys) throws ServerException;
 }
@@ -1,11 +1,15 @@
 package com.ravekidd.v1.service.interfaces;
 
 import com.ravekidd.v1.exception.ServerException;
+import com.ravekidd.v1.model.FetchPlan;
 import com.ravekidd.v1.model.User;
 import com.ravekidd.v1.model.auth.AuthenticationResponse;
+import com.ravekidd.v1.model.connection.Connection;
 import org.springframework.security.core.Authentication;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * Service interface for managing users.
@@ -15,10 +19,24 @@ public interface IUserService {
     /**
      * Retrieves a list of users based on the provided query and parameter.
      *
+     * @param plan The plan of the associations fetched with the users.
      * @return A list of users matching the criteria.
      * @throws ServerException If an error occurs during the operation.
      */
-    List<User> getUsers(String query, String param, Authentication authentication) throws ServerException;
+    List<User> getUsers(String query, String param, FetchPlan plan, Authentication authentication)
+            throws ServerException;
+
+    /**
+     * Retrieves a page of users, ordered by their ID.
+     *
+     * @param first          Maximum number of users in the page.
+     * @param after          Cursor of the last user of the previous page.
+     * @param authentication Authentication of the user.
+     * @return Connection holding the page of users.
+     * @throws ServerException If an error occurs during the operation.
+     */
+    Connection<User> getUsersConnection(Integer first, String after, Authentication authentication)
+            throws ServerException;
 
     /**
      * Deletes a user with the given ID.
@@ -29,6 +47,28 @@ public interface IUserService {
      */
     User deleteUser(Long id, Authentication authentication) throws ServerException;
 
+    /**
+     * Makes the authenticated user follow the user with the given ID. The recent posts of the followed user
+     * are added to the feed of the authenticated user.
+     *
+     * @param userId         ID of the user to follow.
+     * @param authentication Authentication of the user.
+     * @return The followed user.
+     * @throws ServerException If an error occurs during the operation.
+     */
+    User followUser(Long userId, Authentication authentication) throws ServerException;
+
+    /**
+     * Makes the authenticated user unfollow the user with the given ID. The posts of the unfollowed user
+     * are removed from the feed of the authenticated user.
+     *
+     * @param userId         ID of the user to unfollow.
+     * @param authentication Authentication of the user.
+     * @return The unfollowed user.
+     * @throws ServerException If an error occurs during the operation.
+     */
+    User unfollowUser(Long userId, Authentication authentication) throws ServerException;
+
     /**
      * Changes the username of the authenticated user.
      *
@@ -58,4 +98,12 @@ public interface IUserService {
      * @throws ServerException If an error occurs during the operation.
      */
     User changePassword(String newPassword, Authentication authentication) throws ServerException;
+
+    /**
+     * Retrieves the users with the given IDs.
+     *
+     * @param ids IDs of the users.
+     * @return Map of user ID to the user.
+     */
+    Map<Long, User> getUsersByIds(Set<Long> ids);
 }
@@ -0,0 +1,86 @@
+package com.ravekidd.v1.service.jobs;
+
+import com.ravekidd.v1.service.repositories.PostCommentRepository;
+import com.ravekidd.v1.service.repositories.PostRepository;
+import com.ravekidd.v1.service.repositories.UserRepository;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.function.BiFunction;
+import java.util.function.Supplier;
+
+/**
+ * Background job repairing the denormalized like, comment and follower counters. The counters are adjusted atomically
+ * on every like and comment, but a failed transaction or a manual change of the join tables can make them drift.
+ * The job recomputes the counters from the join tables in small ID ranges, so no range keeps its rows locked
+ * for long, and only rewrites the rows whose counter differs.
+ */
+@Component
+public class CounterReconciliationJob {
+
+    private static final Logger LOG = LogManager.getLogger(CounterReconciliationJob.class);
+    private final PostRepository postRepository;
+    private final PostCommentRepository postCommentRepository;
+    private final UserRepository userRepository;
+    private final long batchSize;
+
+    /**
+     * Constructor for CounterReconciliationJob.
+     *
+     * @param postRepository        The repository for managing post data.
+     * @param postCommentRepository The repository for managing post comment data.
+     * @param userRepository        The repository for managing user data.
+     * @param batchSize             The number of IDs reconciled in one transaction.
+     */
+    @Autowired
+    public CounterReconciliationJob(PostRepository postRepository,
+                                    PostCommentRepository postCommentRepository,
+                                    UserRepository userRepository,
+                                    @Value("${ravekidd.counters.reconciliation-batch-size:1000}") long batchSize) {
+        this.postRepository = postRepository;
+        this.postCommentRepository = postCommentRepository;
+        this.userRepository = userRepository;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Reconciles the like and comment counters of posts, the like counters of comments
+     * and the follower counters of users.
+     */
+    @Scheduled(initialDelayString = "${ravekidd.counters.reconciliation-interval:PT10M}",
+            fixedDelayString = "${ravekidd.counters.reconciliation-interval:PT10M}")
+    public void reconcile() {
+
+        LOG.debug("Reconciling like, comment and follower counters...");
+
+        int postLikes = reconcile(postRepository::findMaxId, postRepository::reconcileLikeCounts);
+        int postComments = reconcile(postRepository::findMaxId, postRepository::reconcileCommentCounts);
+        int commentLikes = reconcile(postCommentRepository::findMaxId, postCommentRepository::reconcileLikeCounts);
+        int followers = reconcile(userRepository::findMaxId, userRepository::reconcileFollowerCounts);
+
+        LOG.debug("Counters reconciled. Repaired post likes: {}, post comments: {}, comment likes: {}, followers: {}.",
+                postLikes, postComments, commentLikes, followers);
+    }
+
+    /**
+     * Reconciles one counter over the whole ID range of its table, one batch at a time.
+     *
+     * @param maxId     Supplier of the highest ID of the table.
+     * @param reconcile Statement reconciling the counters of an inclusive ID range.
+     * @return The number of repaired rows.
+     */
+    private int reconcile(Supplier<Long> maxId, BiFunction<Long, Long, Integer> reconcile) {
+
+        int repaired = 0;
+        long lastId = maxId.get();
+
+        for (long fromId = 1; fromId <= lastId; fromId += batchSize) {
+            repaired += reconcile.apply(fromId, fromId + batchSize - 1);
+        }
+        return repaired;
+    }
+}
@@ -0,0 +1,201 @@
+package com.ravekidd.v1.service.media;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ravekidd.v1.model.PostLinkMetadata;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.util.HtmlUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.format.DateTimeParseException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Fetches link metadata over HTTP. The OpenGraph tags of the linked page give the title, artwork and duration,
+ * and the oEmbed endpoint of the provider, if it has one, fills in the fields the page does not expose.
+ * Redirects are only followed within the supported providers and response bodies are read up to a fixed size.
+ */
+@Component
+public class HttpLinkMetadataFetcher implements LinkMetadataFetcher {
+
+    private static final Logger LOG = LogManager.getLogger(HttpLinkMetadataFetcher.class);
+    private static final Pattern META_TAG = Pattern.compile("<meta\\s[^>]*>", Pattern.CASE_INSENSITIVE);
+    private static final Pattern ATTRIBUTE = Pattern.compile("([a-zA-Z:-]+)\\s*=\\s*(\"[^\"]*\"|'[^']*')");
+    private static final int MAX_BODY_BYTES = 512 * 1024;
+    private static final int MAX_REDIRECTS = 3;
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper;
+    private final Duration timeout;
+
+    /**
+     * Constructor for HttpLinkMetadataFetcher.
+     *
+     * @param objectMapper The mapper parsing the oEmbed responses.
+     * @param timeout      The timeout of a single HTTP request.
+     */
+    @Autowired
+    public HttpLinkMetadataFetcher(ObjectMapper objectMapper,
+                                   @Value("${ravekidd.media.request-timeout:PT5S}") Duration timeout) {
+        this.objectMapper = objectMapper;
+        this.timeout = timeout;
+        this.httpClient = HttpClient.newBuilder()
+                .connectTimeout(timeout)
+                .followRedirects(HttpClient.Redirect.NEVER)
+                .build();
+    }
+
+    @Override
+    public LinkMetadata fetch(URI link, LinkProvider provider) throws IOException {
+
+        Map<String, String> tags = parseMetaTags(get(link));
+
+        String title = tags.get("og:title");
+        String artist = provider.isSiteNameArtist() ? tags.get("og:site_name") : null;
+        String artworkUrl = tags.get("og:image");
+        Integer durationSeconds = parseDuration(tags);
+
+        if (provider.getOEmbedEndpoint() != null && (title == null || artist == null || artworkUrl == null)) {
+
+            URI endpoint = URI.create(provider.getOEmbedEndpoint() + "?format=json&url=" +
+                    URLEncoder.encode(link.toString(), StandardCharsets.UTF_8));
+            JsonNode oEmbed = objectMapper.readTree(get(endpoint));
+
+            title = title != null ? title : oEmbed.path("title").asText(null);
+            artist = artist != null ? artist : oEmbed.path("author_name").asText(null);
+            artworkUrl = artworkUrl != null ? artworkUrl : oEmbed.path("thumbnail_url").asText(null);
+        }
+
+        // Bandcamp titles read "Track, by Artist".
+        if (title != null && artist != null && title.endsWith(", by " + artist)) {
+            title = title.substring(0, title.length() - artist.length() - 5);
+        }
+
+        if (title == null) {
+            throw new IOException("Link %s exposes no title.".formatted(link));
+        }
+        return new LinkMetadata(PostLinkMetadata.Status.RESOLVED, provider, title, artist, artworkUrl,
+                durationSeconds);
+    }
+
+    /**
+     * Requests a URL and reads the body of the response, following redirects within the supported providers.
+     *
+     * @param url The requested URL.
+     * @return The body of the response.
+     * @throws IOException If the request fails or does not succeed.
+     */
+    private String get(URI url) throws IOException {
+
+        URI current = url;
+
+        for (int redirects = 0; redirects <= MAX_REDIRECTS; redirects++) {
+
+            HttpRequest request = HttpRequest.newBuilder(current)
+                    .timeout(timeout)
+                    .header("Accept", "text/html,application/json")
+                    .GET()
+                    .build();
+            HttpResponse<InputStream> response;
+
+            try {
+                response = httpClient.send(request, HttpResponse.BodyHandlers.ofInputStream());
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Request to %s was interrupted.".formatted(current), exception);
+            }
+
+            try (InputStream body = response.body()) {
+
+                int status = response.statusCode();
+
+                if (status >= 200 && status < 300) {
+                    return new String(body.readNBytes(MAX_BODY_BYTES), StandardCharsets.UTF_8);
+                }
+
+                String location = response.headers().firstValue("Location").orElse(null);
+
+                if (status < 300 || status >= 400 || location == null) {
+                    throw new IOException("Request to %s returned status %d.".formatted(current, status));
+                }
+
+                URI next = current.resolve(location);
+
+                if (!"https".equals(next.getScheme()) || LinkProvider.of(next).isEmpty()) {
+                    throw new IOException("Request to %s redirected outside the providers.".formatted(current));
+                }
+                LOG.debug("Following redirect from {} to {}.", current, next);
+                current = next;
+            }
+        }
+        throw new IOException("Request to %s was redirected too many times.".formatted(url));
+    }
+
+    /**
+     * Collects the meta tags of a page by their property, name or itemprop attribute, keeping the first occurrence.
+     *
+     * @param html The page.
+     * @return Map of the meta tag key to its unescaped content.
+     */
+    Map<String, String> parseMetaTags(String html) {
+
+        Map<String, String> tags = new HashMap<>();
+        Matcher tag = META_TAG.matcher(html);
+
+        while (tag.find()) {
+
+            Map<String, String> attributes = new HashMap<>();
+            Matcher attribute = ATTRIBUTE.matcher(tag.group());
+
+            while (attribute.find()) {
+                String value = attribute.group(2);
+                attributes.put(attribute.group(1).toLowerCase(), value.substring(1, value.length() - 1));
+            }
+
+            String key = attributes.getOrDefault("property",
+                    attributes.getOrDefault("name", attributes.get("itemprop")));
+            String content = attributes.get("content");
+
+            if (key != null && content != null && !content.isBlank()) {
+                tags.putIfAbsent(key.toLowerCase(), HtmlUtils.htmlUnescape(content.strip()));
+            }
+        }
+        return tags;
+    }
+
+    /**
+     * Parses the duration from the OpenGraph music:duration tag, in seconds,
+     * or from the schema.org duration tag, in ISO-8601.
+     *
+     * @param tags The meta tags of the page.
+     * @return The duration in seconds, or null if the page exposes none.
+     */
+    private Integer parseDuration(Map<String, String> tags) {
+
+        try {
+            if (tags.containsKey("music:duration")) {
+                return Integer.parseInt(tags.get("music:duration"));
+            }
+            if (tags.containsKey("duration")) {
+                return (int) Duration.parse(tags.get("duration")).toSeconds();
+            }
+        } catch (NumberFormatException | DateTimeParseException exception) {
+            LOG.debug("Duration could not be parsed from {}.", tags, exception);
+        }
+        return null;
+    }
+}
@@ -0,0 +1,33 @@
+package com.ravekidd.v1.service.media;
+
+import com.ravekidd.v1.model.PostLinkMetadata;
+
+/**
+ * Metadata of the track or album behind a post link.
+ *
+ * @param status          Whether the metadata was resolved or the fetch failed.
+ * @param provider        The provider hosting the link.
+ * @param title           The title of the track or album.
+ * @param artist          The artist of the track or album.
+ * @param artworkUrl      The URL of the artwork.
+ * @param durationSeconds The duration in seconds, if the provider exposes it.
+ */
+public record LinkMetadata(
+        PostLinkMetadata.Status status,
+        LinkProvider provider,
+        String title,
+        String artist,
+        String artworkUrl,
+        Integer durationSeconds
+) {
+
+    /**
+     * Returns the metadata of a link which could not be resolved.
+     *
+     * @param provider The provider hosting the link.
+     * @return The failed metadata.
+     */
+    public static LinkMetadata failed(LinkProvider provider) {
+        return new LinkMetadata(PostLinkMetadata.Status.FAILED, provider, null, null, null, null);
+    }
+}
@@ -0,0 +1,21 @@
+package com.ravekidd.v1.service.media;
+
+import java.io.IOException;
+import java.net.URI;
+
+/**
+ * Fetches the metadata of a post link from its provider. Tests replace the HTTP implementation
+ * by registering a local stub as a primary bean.
+ */
+public interface LinkMetadataFetcher {
+
+    /**
+     * Fetches the metadata of a normalized link.
+     *
+     * @param link     The normalized link.
+     * @param provider The provider hosting the link.
+     * @return The resolved metadata.
+     * @throws IOException If the provider cannot be reached or its response cannot be parsed.
+     */
+    LinkMetadata fetch(URI link, LinkProvider provider) throws IOException;
+}
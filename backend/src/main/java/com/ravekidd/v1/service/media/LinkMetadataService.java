@@ -0,0 +1,245 @@
+package com.ravekidd.v1.service.media;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.ravekidd.v1.model.PostLinkMetadata;
+import com.ravekidd.v1.service.repositories.PostLinkMetadataRepository;
+import com.ravekidd.v1.service.repositories.PostRepository;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Component resolving post links to their track or album metadata and storing it per post.
+ * Links are normalized first, so share links with tracking parameters, mobile hosts or trailing slashes
+ * resolve to the same URL. A normalized URL is fetched at most once at a time and its metadata is cached,
+ * in memory and through the rows already stored for other posts. The requests to each provider are rate limited.
+ * No transaction is held while a provider is requested.
+ */
+@Component
+public class LinkMetadataService {
+
+    private static final Logger LOG = LogManager.getLogger(LinkMetadataService.class);
+    private final PostRepository postRepository;
+    private final PostLinkMetadataRepository postLinkMetadataRepository;
+    private final LinkMetadataFetcher fetcher;
+    private final ProviderRateLimiter rateLimiter;
+    private final Duration ttl;
+    private final AsyncCache<String, LinkMetadata> cache;
+
+    /**
+     * Constructor for LinkMetadataService.
+     *
+     * @param postRepository             The repository for managing post data.
+     * @param postLinkMetadataRepository The repository for managing the link metadata of posts.
+     * @param fetcher                    The fetcher of link metadata.
+     * @param cacheSize                  The maximum number of cached URLs.
+     * @param ttl                        The duration for which resolved metadata is reused.
+     * @param failureTtl                 The duration for which a failed URL is not fetched again.
+     * @param requestInterval            The minimum interval between two requests to the same provider.
+     */
+    @Autowired
+    public LinkMetadataService(PostRepository postRepository,
+                               PostLinkMetadataRepository postLinkMetadataRepository,
+                               LinkMetadataFetcher fetcher,
+                               @Value("${ravekidd.media.cache-size:10000}") long cacheSize,
+                               @Value("${ravekidd.media.ttl:P7D}") Duration ttl,
+                               @Value("${ravekidd.media.failure-ttl:PT10M}") Duration failureTtl,
+                               @Value("${ravekidd.media.request-interval:PT0.5S}") Duration requestInterval) {
+        this.postRepository = postRepository;
+        this.postLinkMetadataRepository = postLinkMetadataRepository;
+        this.fetcher = fetcher;
+        this.rateLimiter = new ProviderRateLimiter(requestInterval);
+        this.ttl = ttl;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(cacheSize)
+                .expireAfter(new MetadataExpiry(ttl, failureTtl))
+                .buildAsync();
+    }
+
+    /**
+     * Resolves the link of a post and stores its metadata. Posts without a supported link lose their metadata,
+     * and posts whose link was already resolved are skipped.
+     *
+     * @param postId The ID of the post.
+     */
+    public void refresh(Long postId) {
+
+        Optional<URI> link = postRepository.findLinkById(postId).flatMap(this::normalize);
+
+        if (link.isEmpty()) {
+            if (postLinkMetadataRepository.existsById(postId)) {
+                postLinkMetadataRepository.deleteById(postId);
+            }
+            return;
+        }
+
+        String url = link.get().toString();
+        Optional<PostLinkMetadata> stored = postLinkMetadataRepository.findById(postId);
+
+        if (stored.isPresent() && stored.get().getUrl().equals(url)
+                && stored.get().getStatus() == PostLinkMetadata.Status.RESOLVED) {
+            LOG.debug("Link {} of post {} is already resolved.", url, postId);
+            return;
+        }
+
+        LinkMetadata metadata = resolve(url, link.get());
+
+        PostLinkMetadata row = stored.orElseGet(PostLinkMetadata::new);
+        row.setPostId(postId);
+        row.setUrl(url);
+        row.setStatus(metadata.status());
+        row.setProvider(metadata.provider().name());
+        row.setTitle(metadata.title());
+        row.setArtist(metadata.artist());
+        row.setArtworkUrl(metadata.artworkUrl());
+        row.setDurationSeconds(metadata.durationSeconds());
+        row.setFetchedAt(LocalDateTime.now());
+        postLinkMetadataRepository.save(row);
+
+        LOG.debug("Link {} of post {} was stored as {}.", url, postId, metadata.status());
+    }
+
+    /**
+     * Removes the metadata of a deleted post.
+     *
+     * @param postId The ID of the post.
+     */
+    public void remove(Long postId) {
+
+        if (postLinkMetadataRepository.existsById(postId)) {
+            postLinkMetadataRepository.deleteById(postId);
+        }
+    }
+
+    /**
+     * Normalizes a link to the https URL of a supported provider, without query, fragment, www or mobile subdomain
+     * and trailing slash.
+     *
+     * @param link The link as entered by the user.
+     * @return The normalized link, or empty if the link is malformed or its host is not supported.
+     */
+    public Optional<URI> normalize(String link) {
+
+        if (link == null || link.isBlank()) {
+            return Optional.empty();
+        }
+
+        try {
+            String trimmed = link.strip();
+            URI uri = new URI(trimmed.contains("://") ? trimmed : "https://" + trimmed);
+
+            if (uri.getHost() == null || !uri.getScheme().toLowerCase(Locale.ROOT).matches("https?")) {
+                return Optional.empty();
+            }
+
+            String host = uri.getHost().toLowerCase(Locale.ROOT).replaceFirst("^(www|m)\\.", "");
+            String path = uri.getPath() == null ? "" : uri.getPath().replaceAll("/+$", "");
+            URI normalized = new URI("https", host, path, null);
+
+            return LinkProvider.of(normalized).map(provider -> normalized);
+
+        } catch (URISyntaxException exception) {
+            LOG.debug("Link {} is malformed.", link);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Retrieves the metadata of a normalized link from the cache, or loads it on the calling thread.
+     * Concurrent refreshes of the same URL wait for the pending load instead of fetching it again.
+     * The load runs outside of the cache, so neither the provider request nor the rate limiter holds
+     * a lock of the cache, which would pin a virtual thread and block the other URLs of the same bin.
+     *
+     * @param url  The normalized URL.
+     * @param link The normalized link.
+     * @return The metadata, failed if the provider could not be requested.
+     */
+    private LinkMetadata resolve(String url, URI link) {
+
+        CompletableFuture<LinkMetadata> created = new CompletableFuture<>();
+        CompletableFuture<LinkMetadata> pending = cache.asMap().putIfAbsent(url, created);
+
+        if (pending != null) {
+            return pending.join();
+        }
+
+        try {
+            LinkMetadata metadata = load(link);
+            created.complete(metadata);
+            return metadata;
+
+        } catch (RuntimeException exception) {
+            // The cache drops a future completed exceptionally, so the next refresh loads the URL again.
+            created.completeExceptionally(exception);
+            throw exception;
+        }
+    }
+
+    /**
+     * Loads the metadata of a normalized link, reusing a recent row of another post with the same link
+     * before requesting the provider.
+     *
+     * @param link The normalized link.
+     * @return The metadata, failed if the provider could not be requested.
+     */
+    private LinkMetadata load(URI link) {
+
+        LinkProvider provider = LinkProvider.of(link).orElseThrow();
+        Optional<PostLinkMetadata> known = postLinkMetadataRepository.findFirstByUrlAndStatusOrderByFetchedAtDesc(
+                link.toString(), PostLinkMetadata.Status.RESOLVED);
+
+        if (known.isPresent() && known.get().getFetchedAt().isAfter(LocalDateTime.now().minus(ttl))) {
+            PostLinkMetadata row = known.get();
+            return new LinkMetadata(row.getStatus(), provider, row.getTitle(), row.getArtist(), row.getArtworkUrl(),
+                    row.getDurationSeconds());
+        }
+
+        try {
+            rateLimiter.acquire(provider);
+            LOG.debug("Fetching metadata of {}...", link);
+            return fetcher.fetch(link, provider);
+
+        } catch (IOException exception) {
+            LOG.debug("Metadata of {} could not be fetched.", link, exception);
+            return LinkMetadata.failed(provider);
+
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            return LinkMetadata.failed(provider);
+        }
+    }
+
+    /**
+     * Expiry policy keeping resolved metadata for the TTL and failures for the shorter failure TTL.
+     */
+    private record MetadataExpiry(Duration ttl, Duration failureTtl) implements Expiry<String, LinkMetadata> {
+
+        @Override
+        public long expireAfterCreate(String url, LinkMetadata metadata, long currentTime) {
+            return metadata.status() == PostLinkMetadata.Status.RESOLVED ? ttl.toNanos() : failureTtl.toNanos();
+        }
+
+        @Override
+        public long expireAfterUpdate(String url, LinkMetadata metadata, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+
+        @Override
+        public long expireAfterRead(String url, LinkMetadata metadata, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
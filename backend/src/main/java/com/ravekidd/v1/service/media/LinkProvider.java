@@ -0,0 +1,51 @@
+package com.ravekidd.v1.service.media;
+
+import java.net.URI;
+import java.util.Arrays;
+import java.util.Optional;
+
+/**
+ * Providers whose links are resolved to metadata. Links of other hosts are never fetched,
+ * so users cannot make the server request arbitrary URLs.
+ */
+public enum LinkProvider {
+
+    SOUNDCLOUD("soundcloud.com", "https://soundcloud.com/oembed", false),
+    BANDCAMP("bandcamp.com", null, true);
+
+    private final String domain;
+    private final String oEmbedEndpoint;
+    private final boolean siteNameIsArtist;
+
+    LinkProvider(String domain, String oEmbedEndpoint, boolean siteNameIsArtist) {
+        this.domain = domain;
+        this.oEmbedEndpoint = oEmbedEndpoint;
+        this.siteNameIsArtist = siteNameIsArtist;
+    }
+
+    /**
+     * Returns the provider hosting the link, matching the domain of the provider and its subdomains.
+     *
+     * @param link The link.
+     * @return The provider, or empty if the host is not supported.
+     */
+    public static Optional<LinkProvider> of(URI link) {
+
+        String host = link.getHost();
+
+        if (host == null) {
+            return Optional.empty();
+        }
+        return Arrays.stream(values())
+                .filter(provider -> host.equals(provider.domain) || host.endsWith("." + provider.domain))
+                .findFirst();
+    }
+
+    public String getOEmbedEndpoint() {
+        return oEmbedEndpoint;
+    }
+
+    public boolean isSiteNameArtist() {
+        return siteNameIsArtist;
+    }
+}
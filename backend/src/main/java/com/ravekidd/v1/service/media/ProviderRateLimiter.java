@@ -0,0 +1,38 @@
+package com.ravekidd.v1.service.media;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Spaces the requests to each provider by a fixed interval. Every caller reserves the next free slot
+ * of the provider and sleeps until it, so bursts of new posts are smoothed instead of rejected.
+ */
+class ProviderRateLimiter {
+
+    private final long intervalNanos;
+    private final Map<LinkProvider, Long> nextSlots = new EnumMap<>(LinkProvider.class);
+
+    ProviderRateLimiter(Duration interval) {
+        this.intervalNanos = interval.toNanos();
+    }
+
+    /**
+     * Waits until a request to the provider is allowed.
+     *
+     * @param provider The provider.
+     * @throws InterruptedException If the thread is interrupted while waiting.
+     */
+    void acquire(LinkProvider provider) throws InterruptedException {
+
+        long now = System.nanoTime();
+        long slot;
+
+        synchronized (nextSlots) {
+            slot = Math.max(now, nextSlots.getOrDefault(provider, now));
+            nextSlots.put(provider, slot + intervalNanos);
+        }
+        TimeUnit.NANOSECONDS.sleep(slot - now);
+    }
+}
@@ -0,0 +1,91 @@
+package com.ravekidd.v1.service.repositories;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Repository executing the writes of the bulk mutations which do not create entities as JDBC batches.
+ * The statements join the surrounding Spring transaction, so a bulk mutation is applied atomically,
+ * and they bypass the persistence context, so no entity or collection is loaded.
+ */
+@Repository
+public class BulkRepository {
+
+    private static final int BATCH_SIZE = 100;
+    private static final String[] DELETE_POST_STATEMENTS = {
+            "DELETE FROM post_comments_likes WHERE comment_id IN " +
+                    "(SELECT comment_id FROM post_comments WHERE post_id = ?)",
+            "DELETE FROM post_comments WHERE post_id = ?",
+            "DELETE FROM post_likes WHERE post_id = ?",
+            "DELETE FROM timelines WHERE post_id = ?",
+            "DELETE FROM posts WHERE post_id = ?"
+    };
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Constructor for BulkRepository.
+     *
+     * @param jdbcTemplate The JDBC template of the primary DataSource.
+     */
+    @Autowired
+    public BulkRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Inserts likes of the user, ignoring the posts already liked.
+     *
+     * @param userId  The ID of the user.
+     * @param postIds The IDs of the liked posts.
+     */
+    public void insertLikes(Long userId, List<Long> postIds) {
+        jdbcTemplate.batchUpdate("INSERT IGNORE INTO post_likes (post_id, user_id) VALUES (?, ?)",
+                postIds, BATCH_SIZE, (statement, postId) -> {
+                    statement.setLong(1, postId);
+                    statement.setLong(2, userId);
+                });
+    }
+
+    /**
+     * Sets the like counters of the posts to their number of likes. Unlike an increment per inserted like, the
+     * counters stay exact when the driver does not report per-row update counts, e.g. with rewritten batches,
+     * and when a concurrent request liked one of the posts in the meantime.
+     *
+     * @param postIds The IDs of the posts.
+     */
+    public void recountLikes(List<Long> postIds) {
+        jdbcTemplate.batchUpdate("""
+                        UPDATE posts p SET p.like_count = (SELECT COUNT(*) FROM post_likes l WHERE l.post_id = p.post_id)
+                        WHERE p.post_id = ?""",
+                postIds, BATCH_SIZE, (statement, postId) -> statement.setLong(1, postId));
+    }
+
+    /**
+     * Adds to the comment counters of the posts.
+     *
+     * @param deltas Map of post ID to the number of added comments.
+     */
+    public void addCommentCounts(Map<Long, Integer> deltas) {
+        jdbcTemplate.batchUpdate("UPDATE posts SET comment_count = comment_count + ? WHERE post_id = ?",
+                List.copyOf(deltas.entrySet()), BATCH_SIZE, (statement, delta) -> {
+                    statement.setInt(1, delta.getValue());
+                    statement.setLong(2, delta.getKey());
+                });
+    }
+
+    /**
+     * Deletes posts with their comments, likes of comments, likes and timeline entries.
+     *
+     * @param postIds The IDs of the posts.
+     */
+    public void deletePosts(List<Long> postIds) {
+
+        for (String sql : DELETE_POST_STATEMENTS) {
+            jdbcTemplate.batchUpdate(sql, postIds, BATCH_SIZE, (statement, postId) -> statement.setLong(1, postId));
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.ravekidd.v1.service.repositories;
+
+import com.ravekidd.v1.model.PostComment;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repository for accessing and managing PostComment entities in the database.
+ */
+@Repository
+public interface PostCommentRepository extends JpaRepository<PostComment, Long> {
+
+    @Query(value = """
+            SELECT ranked.post_id, ranked.comment_id FROM (
+                SELECT c.post_id, c.comment_id,
+                    ROW_NUMBER() OVER (PARTITION BY c.post_id ORDER BY c.date, c.comment_id) AS position
+                FROM post_comments c WHERE c.post_id IN (:postIds)
+            ) ranked WHERE ranked.position <= :limit ORDER BY ranked.post_id, ranked.position""",
+            nativeQuery = true)
+    List<Object[]> findPagesByPostIdIn(Collection<Long> postIds, int limit);
+
+    @Query(value = """
+            SELECT ranked.post_id, ranked.comment_id FROM (
+                SELECT c.post_id, c.comment_id,
+                    ROW_NUMBER() OVER (PARTITION BY c.post_id ORDER BY c.date, c.comment_id) AS position
+                FROM post_comments c WHERE c.post_id IN (:postIds)
+                AND (c.date > :date OR (c.date = :date AND c.comment_id > :id))
+            ) ranked WHERE ranked.position <= :limit ORDER BY ranked.post_id, ranked.position""",
+            nativeQuery = true)
+    List<Object[]> findPagesAfterByPostIdIn(Collection<Long> postIds, LocalDateTime date, Long id, int limit);
+
+    @Query(value = """
+            SELECT ranked.comment_id, ranked.user_id FROM (
+                SELECT l.comment_id, l.user_id,
+                    ROW_NUMBER() OVER (PARTITION BY l.comment_id ORDER BY l.user_id) AS position
+                FROM post_comments_likes l WHERE l.comment_id IN (:commentIds) AND l.user_id > :afterUserId
+            ) ranked WHERE ranked.position <= :limit ORDER BY ranked.comment_id, ranked.position""",
+            nativeQuery = true)
+    List<Object[]> findLikePagesByCommentIdIn(Collection<Long> commentIds, Long afterUserId, int limit);
+
+    boolean existsByIdAndPostId(Long id, Long postId);
+
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO post_comments_likes (comment_id, user_id) VALUES (:commentId, :userId)",
+            nativeQuery = true)
+    int insertLike(Long commentId, Long userId);
+
+    @Modifying
+    @Query(value = "DELETE FROM post_comments_likes WHERE comment_id = :commentId AND user_id = :userId",
+            nativeQuery = true)
+    int deleteLike(Long commentId, Long userId);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "UPDATE post_comments SET like_count = like_count + :delta WHERE comment_id = :commentId",
+            nativeQuery = true)
+    int updateLikeCount(Long commentId, int delta);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update PostComment c set c.content = :content " +
+            "where c.id = :commentId and c.post.id = :postId and c.user.id = :userId")
+    int updateContent(Long commentId, Long postId, Long userId, String content);
+
+    @Modifying
+    @Query(value = """
+            DELETE FROM post_comments_likes WHERE comment_id IN (
+                SELECT comment_id FROM post_comments
+                WHERE comment_id = :commentId AND post_id = :postId AND user_id = :userId)""",
+            nativeQuery = true)
+    int deleteLikesOfComment(Long commentId, Long postId, Long userId);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "DELETE FROM post_comments WHERE comment_id = :commentId AND post_id = :postId AND user_id = :userId",
+            nativeQuery = true)
+    int deleteComment(Long commentId, Long postId, Long userId);
+
+    @Query("select coalesce(max(c.id), 0) from PostComment c")
+    Long findMaxId();
+
+    @Transactional
+    @Modifying
+    @Query(value = """
+            UPDATE post_comments c SET c.like_count =
+                (SELECT COUNT(*) FROM post_comments_likes l WHERE l.comment_id = c.comment_id)
+            WHERE c.comment_id BETWEEN :fromId AND :toId
+            AND c.like_count <> (SELECT COUNT(*) FROM post_comments_likes l WHERE l.comment_id = c.comment_id)""",
+            nativeQuery = true)
+    int reconcileLikeCounts(Long fromId, Long toId);
+}
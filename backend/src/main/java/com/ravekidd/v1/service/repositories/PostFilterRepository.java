@@ -0,0 +1,110 @@
+package com.ravekidd.v1.service.repositories;
+
+import com.ravekidd.v1.model.FetchPlan;
+import com.ravekidd.v1.model.Post;
+import com.ravekidd.v1.model.PostView;
+import com.ravekidd.v1.model.User;
+import com.ravekidd.v1.model.filter.PostFilter;
+import com.ravekidd.v1.model.filter.PostSort;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Repository compiling post filters into a single Criteria query selecting {@link PostView} projections.
+ * Every criterion becomes a predicate on a bare column, an IN list or a range, and the order follows
+ * the (date, post_id) indexes, so the posts of some users in a date window are read from IDX_POSTS_USER_DATE
+ * and a date window alone from IDX_POSTS_DATE, with the limit applied by the database.
+ */
+@Repository
+public class PostFilterRepository {
+
+    private final EntityManager entityManager;
+
+    /**
+     * Constructor for PostFilterRepository.
+     *
+     * @param entityManager The shared entity manager of the primary persistence unit.
+     */
+    @Autowired
+    public PostFilterRepository(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    /**
+     * Finds the posts matching a filter. The dates of the filter are expected to be validated.
+     *
+     * @param filter The filter of the posts.
+     * @param plan   The plan of the associations fetched with the posts.
+     * @return The matching posts, in the order of the filter.
+     */
+    public List<PostView> findViews(PostFilter filter, FetchPlan plan) {
+
+        // An empty IN list matches nothing, and not every database accepts it.
+        if (matchesNothing(filter.ids()) || matchesNothing(filter.userIds())) {
+            return List.of();
+        }
+
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<PostView> query = builder.createQuery(PostView.class);
+        Root<Post> post = query.from(Post.class);
+        Path<Long> id = post.get("id");
+        Path<Long> userId = post.get("user").get("id");
+        Path<LocalDateTime> date = post.get("date");
+
+        if (plan.author()) {
+            Join<Post, User> author = post.join("user", JoinType.LEFT);
+            query.select(builder.construct(PostView.class, id, userId, post.get("description"), post.get("link"),
+                    date, post.get("likeCount"), post.get("commentCount"),
+                    author.get("username"), author.get("image"), author.get("followerCount")));
+        } else {
+            query.select(builder.construct(PostView.class, id, userId, post.get("description"), post.get("link"),
+                    date, post.get("likeCount"), post.get("commentCount")));
+        }
+
+        List<Predicate> predicates = new ArrayList<>();
+
+        if (filter.ids() != null) {
+            predicates.add(id.in(filter.ids()));
+        }
+        if (filter.userIds() != null) {
+            predicates.add(userId.in(filter.userIds()));
+        }
+        if (filter.dateFrom() != null) {
+            predicates.add(builder.greaterThanOrEqualTo(date, LocalDateTime.parse(filter.dateFrom())));
+        }
+        if (filter.dateTo() != null) {
+            predicates.add(builder.lessThanOrEqualTo(date, LocalDateTime.parse(filter.dateTo())));
+        }
+        query.where(predicates.toArray(Predicate[]::new));
+
+        if (filter.sort() == PostSort.OLDEST) {
+            query.orderBy(builder.asc(date), builder.asc(id));
+        } else {
+            query.orderBy(builder.desc(date), builder.desc(id));
+        }
+
+        TypedQuery<PostView> typedQuery = entityManager.createQuery(query);
+
+        if (filter.limit() != null) {
+            typedQuery.setMaxResults(filter.limit());
+        }
+        return typedQuery.getResultList();
+    }
+
+    private boolean matchesNothing(List<Long> ids) {
+        return ids != null && ids.isEmpty();
+    }
+}
@@ -0,0 +1,18 @@
+package com.ravekidd.v1.service.repositories;
+
+import com.ravekidd.v1.model.PostLinkMetadata;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repository for accessing and managing PostLinkMetadata entities in the database.
+ */
+@Repository
+public interface PostLinkMetadataRepository extends JpaRepository<PostLinkMetadata, Long> {
+    List<PostLinkMetadata> findByPostIdInAndStatus(Collection<Long> postIds, PostLinkMetadata.Status status);
+    Optional<PostLinkMetadata> findFirstByUrlAndStatusOrderByFetchedAtDesc(String url, PostLinkMetadata.Status status);
+}
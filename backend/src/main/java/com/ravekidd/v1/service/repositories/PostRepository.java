@@ -1,18 +1,138 @@
 package com.ravekidd.v1.service.repositories;
 
 import com.ravekidd.v1.model.Post;
+import com.ravekidd.v1.model.PostView;
+import com.ravekidd.v1.service.search.PostDocument;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * Repository for accessing and managing Post entities in the database.
  */
 @Repository
 public interface PostRepository extends JpaRepository<Post, Long> {
+
+    String SELECT_VIEW = """
+            select new com.ravekidd.v1.model.PostView(p.id, p.user.id, p.description, p.link, p.date,
+            p.likeCount, p.commentCount) from Post p""";
+
     List<Post> findById(long id);
-    List<Post> findByUserIdIn(List<Long> userIds);
-    List<Post> findByDateBetween(LocalDateTime startDate, LocalDateTime endDate);
+
+    @Query(SELECT_VIEW + " where p.id in :ids")
+    List<PostView> findViewsByIdIn(Collection<Long> ids);
+
+    @Query(SELECT_VIEW + " order by p.date desc, p.id desc")
+    List<PostView> findFirstPage(Pageable pageable);
+
+    @Query(SELECT_VIEW + " where p.date < :date or (p.date = :date and p.id < :id) order by p.date desc, p.id desc")
+    List<PostView> findPageAfter(LocalDateTime date, Long id, Pageable pageable);
+
+    @Query(SELECT_VIEW + " where p.user.id in :userIds order by p.date desc, p.id desc")
+    List<PostView> findFirstPageByUserIdIn(Collection<Long> userIds, Pageable pageable);
+
+    @Query(SELECT_VIEW + " where p.user.id in :userIds" +
+            " and (p.date < :date or (p.date = :date and p.id < :id)) order by p.date desc, p.id desc")
+    List<PostView> findPageAfterByUserIdIn(Collection<Long> userIds, LocalDateTime date, Long id, Pageable pageable);
+
+    @Query("""
+            select new com.ravekidd.v1.service.search.PostDocument(p.id, p.description, p.link, u.id, u.username)
+            from Post p join p.user u where p.id = :postId""")
+    Optional<PostDocument> findDocumentById(Long postId);
+
+    @Query("""
+            select new com.ravekidd.v1.service.search.PostDocument(p.id, p.description, p.link, u.id, u.username)
+            from Post p join p.user u where u.id = :userId""")
+    List<PostDocument> findDocumentsByUserId(Long userId);
+
+    @Query("""
+            select new com.ravekidd.v1.service.search.PostDocument(p.id, p.description, p.link, u.id, u.username)
+            from Post p join p.user u where p.id > :id order by p.id""")
+    List<PostDocument> findDocumentsAfter(Long id, Pageable pageable);
+
+    @Query("select p.id, p.user.id from Post p where p.id in :postIds")
+    List<Object[]> findAuthorIdsByIdIn(Collection<Long> postIds);
+
+    @Query("select p.id from Post p join p.likes u where u.id = :userId and p.id in :postIds")
+    List<Long> findLikedPostIds(Long userId, Collection<Long> postIds);
+
+    @Query("select p.link from Post p where p.id = :postId")
+    Optional<String> findLinkById(Long postId);
+
+    @Query(value = """
+            SELECT ranked.post_id, ranked.user_id FROM (
+                SELECT l.post_id, l.user_id,
+                    ROW_NUMBER() OVER (PARTITION BY l.post_id ORDER BY l.user_id) AS position
+                FROM post_likes l WHERE l.post_id IN (:postIds) AND l.user_id > :afterUserId
+            ) ranked WHERE ranked.position <= :limit ORDER BY ranked.post_id, ranked.position""",
+            nativeQuery = true)
+    List<Object[]> findLikePagesByPostIdIn(Collection<Long> postIds, Long afterUserId, int limit);
+
+    @Query(value = """
+            SELECT ranked.user_id, ranked.post_id FROM (
+                SELECT p.user_id, p.post_id,
+                    ROW_NUMBER() OVER (PARTITION BY p.user_id ORDER BY p.date DESC, p.post_id DESC) AS position
+                FROM posts p WHERE p.user_id IN (:userIds)
+            ) ranked WHERE ranked.position <= :limit ORDER BY ranked.user_id, ranked.position""",
+            nativeQuery = true)
+    List<Object[]> findPagesByUserIdIn(Collection<Long> userIds, int limit);
+
+    @Query(value = """
+            SELECT ranked.user_id, ranked.post_id FROM (
+                SELECT p.user_id, p.post_id,
+                    ROW_NUMBER() OVER (PARTITION BY p.user_id ORDER BY p.date DESC, p.post_id DESC) AS position
+                FROM posts p WHERE p.user_id IN (:userIds)
+                AND (p.date < :date OR (p.date = :date AND p.post_id < :id))
+            ) ranked WHERE ranked.position <= :limit ORDER BY ranked.user_id, ranked.position""",
+            nativeQuery = true)
+    List<Object[]> findPagesAfterByUserIdIn(Collection<Long> userIds, LocalDateTime date, Long id, int limit);
+
+    @Query("select p.user.id, count(p) from Post p where p.user.id in :userIds group by p.user.id")
+    List<Object[]> findPostCountsByUserIdIn(Collection<Long> userIds);
+
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO post_likes (post_id, user_id) VALUES (:postId, :userId)", nativeQuery = true)
+    int insertLike(Long postId, Long userId);
+
+    @Modifying
+    @Query(value = "DELETE FROM post_likes WHERE post_id = :postId AND user_id = :userId", nativeQuery = true)
+    int deleteLike(Long postId, Long userId);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "UPDATE posts SET like_count = like_count + :delta WHERE post_id = :postId", nativeQuery = true)
+    int updateLikeCount(Long postId, int delta);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "UPDATE posts SET comment_count = comment_count + :delta WHERE post_id = :postId",
+            nativeQuery = true)
+    int updateCommentCount(Long postId, int delta);
+
+    @Query("select coalesce(max(p.id), 0) from Post p")
+    Long findMaxId();
+
+    @Transactional
+    @Modifying
+    @Query(value = """
+            UPDATE posts p SET p.like_count = (SELECT COUNT(*) FROM post_likes l WHERE l.post_id = p.post_id)
+            WHERE p.post_id BETWEEN :fromId AND :toId
+            AND p.like_count <> (SELECT COUNT(*) FROM post_likes l WHERE l.post_id = p.post_id)""",
+            nativeQuery = true)
+    int reconcileLikeCounts(Long fromId, Long toId);
+
+    @Transactional
+    @Modifying
+    @Query(value = """
+            UPDATE posts p SET p.comment_count = (SELECT COUNT(*) FROM post_comments c WHERE c.post_id = p.post_id)
+            WHERE p.post_id BETWEEN :fromId AND :toId
+            AND p.comment_count <> (SELECT COUNT(*) FROM post_comments c WHERE c.post_id = p.post_id)""",
+            nativeQuery = true)
+    int reconcileCommentCounts(Long fromId, Long toId);
 }
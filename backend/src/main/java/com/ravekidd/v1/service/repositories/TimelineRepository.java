@@ -0,0 +1,69 @@
+package com.ravekidd.v1.service.repositories;
+
+import com.ravekidd.v1.model.PostView;
+import com.ravekidd.v1.model.TimelineEntry;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Repository for accessing and managing the precomputed home feeds of the users.
+ */
+@Repository
+public interface TimelineRepository extends JpaRepository<TimelineEntry, TimelineEntry.Key> {
+
+    @Query("""
+            select new com.ravekidd.v1.model.PostView(p.id, p.user.id, p.description, p.link, p.date,
+            p.likeCount, p.commentCount) from TimelineEntry t join Post p on p.id = t.postId
+            where t.userId = :userId order by t.postDate desc, t.postId desc""")
+    List<PostView> findFirstPage(Long userId, Pageable pageable);
+
+    @Query("""
+            select new com.ravekidd.v1.model.PostView(p.id, p.user.id, p.description, p.link, p.date,
+            p.likeCount, p.commentCount) from TimelineEntry t join Post p on p.id = t.postId
+            where t.userId = :userId and (t.postDate < :date or (t.postDate = :date and t.postId < :id))
+            order by t.postDate desc, t.postId desc""")
+    List<PostView> findPageAfter(Long userId, LocalDateTime date, Long id, Pageable pageable);
+
+    @Transactional
+    @Modifying
+    @Query(value = """
+            INSERT IGNORE INTO timelines (user_id, post_id, author_id, post_date)
+            SELECT f.follower_id, :postId, :authorId, :date FROM user_follows f WHERE f.followee_id = :authorId""",
+            nativeQuery = true)
+    int fanOut(Long postId, Long authorId, LocalDateTime date);
+
+    @Transactional
+    @Modifying
+    @Query(value = """
+            INSERT IGNORE INTO timelines (user_id, post_id, author_id, post_date)
+            VALUES (:userId, :postId, :authorId, :date)""",
+            nativeQuery = true)
+    int insertEntry(Long userId, Long postId, Long authorId, LocalDateTime date);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = """
+            INSERT IGNORE INTO timelines (user_id, post_id, author_id, post_date)
+            SELECT :followerId, p.post_id, p.user_id, p.date FROM posts p WHERE p.user_id = :followeeId
+            ORDER BY p.date DESC, p.post_id DESC LIMIT :limit""",
+            nativeQuery = true)
+    int backfill(Long followerId, Long followeeId, int limit);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "DELETE FROM timelines WHERE user_id = :userId AND author_id = :authorId", nativeQuery = true)
+    int deleteByUserIdAndAuthorId(Long userId, Long authorId);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "DELETE FROM timelines WHERE post_id = :postId", nativeQuery = true)
+    int deleteByPostId(Long postId);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "DELETE FROM timelines WHERE user_id = :userId OR author_id = :userId", nativeQuery = true)
+    int deleteByUser(Long userId);
+}
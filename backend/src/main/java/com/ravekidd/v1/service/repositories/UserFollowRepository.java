@@ -0,0 +1,35 @@
+package com.ravekidd.v1.service.repositories;
+
+import com.ravekidd.v1.model.UserFollow;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repository for accessing and managing the follow relation between users.
+ */
+@Repository
+public interface UserFollowRepository extends JpaRepository<UserFollow, UserFollow.Key> {
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "INSERT IGNORE INTO user_follows (follower_id, followee_id, date) VALUES (:followerId, :followeeId, :date)",
+            nativeQuery = true)
+    int insertFollow(Long followerId, Long followeeId, LocalDateTime date);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "DELETE FROM user_follows WHERE follower_id = :followerId AND followee_id = :followeeId",
+            nativeQuery = true)
+    int deleteFollow(Long followerId, Long followeeId);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "DELETE FROM user_follows WHERE follower_id = :userId OR followee_id = :userId", nativeQuery = true)
+    int deleteFollowsOfUser(Long userId);
+
+    @Query("select f.followeeId from UserFollow f where f.followerId = :followerId and f.followeeId in :followeeIds")
+    List<Long> findFolloweeIdsIn(Long followerId, Collection<Long> followeeIds);
+}
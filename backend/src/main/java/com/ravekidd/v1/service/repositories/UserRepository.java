@@ -1,12 +1,21 @@
 package com.ravekidd.v1.service.repositories;
 
 import com.ravekidd.v1.model.User;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
+import static com.ravekidd.v1.consts.Constants.CACHE_CELEBRITIES;
+
 /**
  * Repository for accessing and managing User entities in the database.
  */
@@ -16,5 +25,61 @@ public interface UserRepository extends JpaRepository<User, Long> {
     List<User> findUserById(Long id);
     Optional<User> findByUsername(String username);
     Boolean existsByUsername(String username);
+
+    @Query("select u.id from User u where u.username = :username")
+    Optional<Long> findIdByUsername(String username);
+
+    @Query("select u from User u order by u.id")
+    List<User> findFirstPage(Pageable pageable);
+
+    @EntityGraph(value = User.GRAPH_SUMMARY)
+    @Query("select u from User u order by u.id")
+    List<User> findFirstPageOfSummaries(Pageable pageable);
+
+    @Query("select u from User u where u.id > :id order by u.id")
+    List<User> findPageAfter(Long id, Pageable pageable);
+
+    @Query("select u.id from User u where u.id in :ids")
+    List<Long> findIdsByIdIn(Collection<Long> ids);
+
+    @EntityGraph(attributePaths = "roles")
+    List<User> findByIdIn(Collection<Long> ids);
+
+    @EntityGraph(value = User.GRAPH_SUMMARY)
+    List<User> findSummariesByIdIn(Collection<Long> ids);
+
+    @EntityGraph(value = User.GRAPH_SUMMARY)
+    List<User> findSummariesByUsernameIn(Collection<String> usernames);
+
+    @Query("select u.followerCount from User u where u.id = :id")
+    Optional<Long> findFollowerCountById(Long id);
+
+    @Cacheable(cacheNames = CACHE_CELEBRITIES)
+    @Query("select u.id from User u where u.followerCount > :threshold")
+    List<Long> findCelebrityIds(long threshold);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "UPDATE users SET follower_count = follower_count + :delta WHERE user_id = :userId",
+            nativeQuery = true)
+    int updateFollowerCount(Long userId, int delta);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = """
+            UPDATE users SET follower_count = follower_count - 1
+            WHERE user_id IN (SELECT f.followee_id FROM user_follows f WHERE f.follower_id = :followerId)""",
+            nativeQuery = true)
+    int decrementFollowerCountsOfFollowees(Long followerId);
+
+    @Query("select coalesce(max(u.id), 0) from User u")
+    Long findMaxId();
+
+    @Transactional
+    @Modifying
+    @Query(value = """
+            UPDATE users u SET u.follower_count = (SELECT COUNT(*) FROM user_follows f WHERE f.followee_id = u.user_id)
+            WHERE u.user_id BETWEEN :fromId AND :toId
+            AND u.follower_count <> (SELECT COUNT(*) FROM user_follows f WHERE f.followee_id = u.user_id)""",
+            nativeQuery = true)
+    int reconcileFollowerCounts(Long fromId, Long toId);
 }
 
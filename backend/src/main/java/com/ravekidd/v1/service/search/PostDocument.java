@@ -0,0 +1,19 @@
+package com.ravekidd.v1.service.search;
+
+/**
+ * Searchable text of a post, as stored in the search index.
+ *
+ * @param postId      The ID of the post.
+ * @param description The description of the post.
+ * @param link        The link of the post.
+ * @param authorId    The ID of the author of the post.
+ * @param username    The username of the author of the post.
+ */
+public record PostDocument(
+        Long postId,
+        String description,
+        String link,
+        Long authorId,
+        String username
+) {
+}
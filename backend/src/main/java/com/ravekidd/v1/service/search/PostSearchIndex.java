@@ -0,0 +1,275 @@
+package com.ravekidd.v1.service.search;
+
+import com.ravekidd.v1.model.connection.SearchCursor;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.analysis.tokenattributes.CharTermAttribute;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.NumericDocValuesField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.BoostQuery;
+import org.apache.lucene.search.FieldDoc;
+import org.apache.lucene.search.FuzzyQuery;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.PrefixQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.Sort;
+import org.apache.lucene.search.SortField;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.TopFieldDocs;
+import org.apache.lucene.store.FSDirectory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Embedded Lucene index over the descriptions, links and author usernames of posts, stored on the local disk.
+ * The index is updated incrementally and changes become searchable right away through a near-real-time reader,
+ * while commits to disk are batched by a scheduled job. Every search term matches exactly, with typos
+ * of up to two edits, and the last term also matches as a prefix. Exact matches rank above fuzzy and prefix ones.
+ */
+@Component
+public class PostSearchIndex implements DisposableBean {
+
+    private static final Logger LOG = LogManager.getLogger(PostSearchIndex.class);
+    private static final String FIELD_ID = "id";
+    private static final String FIELD_SORT_ID = "sortId";
+    private static final String FIELD_DESCRIPTION = "description";
+    private static final String FIELD_LINK = "link";
+    private static final String FIELD_USERNAME = "username";
+    private static final Map<String, Float> FIELD_BOOSTS = Map.of(
+            FIELD_DESCRIPTION, 2.0f,
+            FIELD_USERNAME, 1.5f,
+            FIELD_LINK, 1.0f);
+    private static final float FUZZY_BOOST = 0.5f;
+    private static final float PREFIX_BOOST = 0.5f;
+    private static final int MAX_TERMS = 10;
+    private static final Sort SCORE_THEN_ID = new Sort(SortField.FIELD_SCORE,
+            new SortField(FIELD_SORT_ID, SortField.Type.LONG, true));
+
+    private final Analyzer analyzer = new StandardAnalyzer();
+    private final FSDirectory directory;
+    private final IndexWriter writer;
+    private final SearcherManager searcherManager;
+
+    /**
+     * Constructor for PostSearchIndex. Opens the index at the given path, creating it if it does not exist.
+     *
+     * @param indexPath The directory of the index.
+     * @throws IOException If the index cannot be opened.
+     */
+    @Autowired
+    public PostSearchIndex(@Value("${ravekidd.search.index-path:data/index}") Path indexPath) throws IOException {
+        this.directory = FSDirectory.open(indexPath);
+        this.writer = new IndexWriter(directory, new IndexWriterConfig(analyzer)
+                .setOpenMode(IndexWriterConfig.OpenMode.CREATE_OR_APPEND));
+        this.searcherManager = new SearcherManager(writer, null);
+
+        LOG.debug("Opened search index at {} with {} posts.", indexPath.toAbsolutePath(), size());
+    }
+
+    /**
+     * Returns the number of indexed posts.
+     *
+     * @return The number of indexed posts.
+     */
+    public int size() {
+        return writer.getDocStats().numDocs;
+    }
+
+    /**
+     * Adds posts to the index, replacing their previous versions.
+     *
+     * @param documents The searchable text of the posts.
+     * @throws IOException If the index cannot be written.
+     */
+    public void index(Collection<PostDocument> documents) throws IOException {
+
+        for (PostDocument document : documents) {
+            writer.updateDocument(new Term(FIELD_ID, document.postId().toString()), toDocument(document));
+        }
+        searcherManager.maybeRefresh();
+    }
+
+    /**
+     * Removes a post from the index.
+     *
+     * @param postId The ID of the post.
+     * @throws IOException If the index cannot be written.
+     */
+    public void delete(Long postId) throws IOException {
+        writer.deleteDocuments(new Term(FIELD_ID, postId.toString()));
+        searcherManager.maybeRefresh();
+    }
+
+    /**
+     * Searches the posts matching all terms of the text, ordered by descending score and ID.
+     *
+     * @param text  The searched text.
+     * @param limit The maximum number of returned posts.
+     * @param after The position of the last post of the previous page, or null for the first page.
+     * @return The matching posts with their scores.
+     * @throws IOException If the index cannot be read.
+     */
+    public List<SearchHit> search(String text, int limit, SearchCursor after) throws IOException {
+
+        Query query = toQuery(text);
+
+        if (query == null) {
+            return List.of();
+        }
+
+        IndexSearcher searcher = searcherManager.acquire();
+
+        try {
+            TopFieldDocs docs;
+
+            if (after == null) {
+                docs = searcher.search(query, limit, SCORE_THEN_ID, true);
+            } else {
+                // The ID decides every tie, so the document number only has to be a valid one; the last one
+                // leaves no tie with the post of the cursor itself.
+                int lastDoc = searcher.getIndexReader().maxDoc() - 1;
+                FieldDoc last = new FieldDoc(lastDoc, after.score(), new Object[]{after.score(), after.id()});
+                docs = searcher.searchAfter(last, query, limit, SCORE_THEN_ID, true);
+            }
+
+            List<SearchHit> hits = new ArrayList<>(docs.scoreDocs.length);
+
+            for (ScoreDoc scoreDoc : docs.scoreDocs) {
+                FieldDoc fieldDoc = (FieldDoc) scoreDoc;
+                hits.add(new SearchHit((Long) fieldDoc.fields[1], fieldDoc.score));
+            }
+            LOG.debug("Search for '{}' matched {} posts.", text, docs.totalHits);
+            return hits;
+
+        } finally {
+            searcherManager.release(searcher);
+        }
+    }
+
+    /**
+     * Commits the pending changes of the index to disk.
+     */
+    @Scheduled(initialDelayString = "${ravekidd.search.commit-interval:PT30S}",
+            fixedDelayString = "${ravekidd.search.commit-interval:PT30S}")
+    public void commit() {
+
+        if (!writer.hasUncommittedChanges()) {
+            return;
+        }
+
+        try {
+            writer.commit();
+            LOG.debug("Search index committed with {} posts.", size());
+
+        } catch (IOException exception) {
+            LOG.warn("Search index could not be committed.", exception);
+        }
+    }
+
+    @Override
+    public void destroy() throws IOException {
+        searcherManager.close();
+        writer.close();
+        directory.close();
+    }
+
+    private Document toDocument(PostDocument post) {
+
+        Document document = new Document();
+        document.add(new StringField(FIELD_ID, post.postId().toString(), Field.Store.NO));
+        document.add(new NumericDocValuesField(FIELD_SORT_ID, post.postId()));
+        document.add(new TextField(FIELD_DESCRIPTION, nullToEmpty(post.description()), Field.Store.NO));
+        document.add(new TextField(FIELD_USERNAME, nullToEmpty(post.username()), Field.Store.NO));
+
+        // Links are split on punctuation, so the host and path segments of a URL are searchable words.
+        document.add(new TextField(FIELD_LINK, nullToEmpty(post.link()).replaceAll("[^\\p{L}\\p{N}]+", " "),
+                Field.Store.NO));
+        return document;
+    }
+
+    /**
+     * Builds a query requiring every term of the text to match one of the fields, exactly, with typos
+     * or, for the last term, as a prefix.
+     *
+     * @param text The searched text.
+     * @return The query, or null if the text holds no searchable terms.
+     * @throws IOException If the text cannot be analyzed.
+     */
+    private Query toQuery(String text) throws IOException {
+
+        List<String> terms = analyze(text);
+
+        if (terms.isEmpty()) {
+            return null;
+        }
+
+        BooleanQuery.Builder query = new BooleanQuery.Builder();
+
+        for (int i = 0; i < terms.size(); i++) {
+
+            String term = terms.get(i);
+            boolean last = i == terms.size() - 1;
+            int maxEdits = term.length() < 3 ? 0 : term.length() < 6 ? 1 : 2;
+            BooleanQuery.Builder anyField = new BooleanQuery.Builder();
+
+            FIELD_BOOSTS.forEach((field, boost) -> {
+                anyField.add(new BoostQuery(new TermQuery(new Term(field, term)), boost), BooleanClause.Occur.SHOULD);
+
+                if (maxEdits > 0) {
+                    anyField.add(new BoostQuery(new FuzzyQuery(new Term(field, term), maxEdits, 1),
+                            boost * FUZZY_BOOST), BooleanClause.Occur.SHOULD);
+                }
+                if (last && term.length() > 1) {
+                    anyField.add(new BoostQuery(new PrefixQuery(new Term(field, term)),
+                            boost * PREFIX_BOOST), BooleanClause.Occur.SHOULD);
+                }
+            });
+            query.add(anyField.build(), BooleanClause.Occur.MUST);
+        }
+        return query.build();
+    }
+
+    private List<String> analyze(String text) throws IOException {
+
+        List<String> terms = new ArrayList<>();
+
+        try (TokenStream stream = analyzer.tokenStream(FIELD_DESCRIPTION, text)) {
+
+            CharTermAttribute attribute = stream.addAttribute(CharTermAttribute.class);
+            stream.reset();
+
+            while (stream.incrementToken() && terms.size() < MAX_TERMS) {
+                terms.add(attribute.toString());
+            }
+            stream.end();
+        }
+        return terms;
+    }
+
+    private static String nullToEmpty(String value) {
+        return value == null ? "" : value;
+    }
+}
@@ -0,0 +1,13 @@
+package com.ravekidd.v1.service.search;
+
+/**
+ * Post matching a search, with its relevance score.
+ *
+ * @param postId The ID of the post.
+ * @param score  The relevance score of the post.
+ */
+public record SearchHit(
+        Long postId,
+        float score
+) {
+}
@@ -6,6 +6,7 @@ import com.ravekidd.v1.model.User;
 import com.ravekidd.v1.service.helpers.ActionHelper;
 import com.ravekidd.v1.service.repositories.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -17,6 +18,8 @@ import java.util.Collection;
 import java.util.List;
 import java.util.stream.Collectors;
 
+import static com.ravekidd.v1.consts.Constants.CACHE_USER_DETAILS;
+
 /**
  * Custom implementation of Spring Security's UserDetailsService.
  */
@@ -56,6 +59,26 @@ public class CustomUserDetailsService implements UserDetailsService {
         }
     }
 
+    /**
+     * Loads the details of a user authenticated by a token. The details are cached by username, so a request
+     * carrying a token does not hit the database. The cached details hold no password, as the token already
+     * proves the identity of the user and the cached instance must not be used for password authentication.
+     *
+     * @param username The username of the user to load.
+     * @return UserDetails object representing the loaded user, without the password.
+     * @throws UsernameNotFoundException if the user is not found.
+     */
+    @Cacheable(cacheNames = CACHE_USER_DETAILS, key = "#username")
+    public UserDetails loadAuthenticatedUser(String username) throws UsernameNotFoundException {
+        try {
+            User user = actionHelper.findUserByUsername(username, userRepository);
+            return new org.springframework.security.core.userdetails.User(
+                    user.getUsername(), "", mapRolesToAuthorities(user.getRoles()));
+        } catch (ServerException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
     /**
      * Maps a list of Role objects to a list of GrantedAuthority objects.
      *
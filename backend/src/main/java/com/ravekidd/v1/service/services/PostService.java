@@ -1,26 +1,62 @@
 package com.ravekidd.v1.service.services;
 
 import com.ravekidd.v1.exception.ServerException;
+import com.ravekidd.v1.model.FetchPlan;
 import com.ravekidd.v1.model.Post;
 import com.ravekidd.v1.model.PostComment;
+import com.ravekidd.v1.model.PostLinkMetadata;
+import com.ravekidd.v1.model.PostView;
 import com.ravekidd.v1.model.User;
+import com.ravekidd.v1.model.bulk.BulkCommentInput;
+import com.ravekidd.v1.model.bulk.BulkItemResult;
+import com.ravekidd.v1.model.bulk.BulkResult;
+import com.ravekidd.v1.model.bulk.ImportCommentInput;
+import com.ravekidd.v1.model.bulk.ImportPostInput;
+import com.ravekidd.v1.model.connection.CommentCursor;
+import com.ravekidd.v1.model.connection.Connection;
+import com.ravekidd.v1.model.connection.PageKey;
+import com.ravekidd.v1.model.connection.PostCursor;
+import com.ravekidd.v1.model.connection.SearchCursor;
+import com.ravekidd.v1.model.filter.PostFilter;
+import com.ravekidd.v1.model.filter.PostSort;
+import com.ravekidd.v1.service.events.PostCreatedEvent;
+import com.ravekidd.v1.service.events.PostDeletedEvent;
+import com.ravekidd.v1.service.events.PostUpdatedEvent;
 import com.ravekidd.v1.service.helpers.ActionHelper;
+import com.ravekidd.v1.service.helpers.CursorHelper;
 import com.ravekidd.v1.service.helpers.InputHelper;
+import com.ravekidd.v1.service.helpers.LikeHelper;
+import com.ravekidd.v1.service.helpers.OutputHelper;
 import com.ravekidd.v1.service.interfaces.IPostService;
+import com.ravekidd.v1.service.repositories.BulkRepository;
+import com.ravekidd.v1.service.repositories.PostCommentRepository;
+import com.ravekidd.v1.service.repositories.PostFilterRepository;
+import com.ravekidd.v1.service.repositories.PostLinkMetadataRepository;
 import com.ravekidd.v1.service.repositories.PostRepository;
+import com.ravekidd.v1.service.repositories.TimelineRepository;
+import com.ravekidd.v1.service.repositories.UserFollowRepository;
 import com.ravekidd.v1.service.repositories.UserRepository;
+import com.ravekidd.v1.service.search.PostSearchIndex;
+import com.ravekidd.v1.service.search.SearchHit;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
 import java.time.LocalDateTime;
-import java.util.Arrays;
-import java.util.List;
+import java.time.format.DateTimeParseException;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 import static com.ravekidd.v1.consts.Constants.*;
+import static com.ravekidd.v1.consts.Messages.*;
 
 /**
  * Service class for managing posts and related actions.
@@ -31,56 +67,114 @@ public class PostService implements IPostService {
 
     private static final Logger LOG = LogManager.getLogger(PostService.class);
     private final PostRepository postRepository;
+    private final PostCommentRepository postCommentRepository;
+    private final PostLinkMetadataRepository postLinkMetadataRepository;
     private final UserRepository userRepository;
+    private final TimelineRepository timelineRepository;
+    private final UserFollowRepository userFollowRepository;
     private final ActionHelper actionHelper;
     private final InputHelper inputHelper;
+    private final OutputHelper outputHelper;
+    private final CursorHelper cursorHelper;
+    private final LikeHelper likeHelper;
+    private final BulkRepository bulkRepository;
+    private final PostFilterRepository postFilterRepository;
+    private final PostSearchIndex postSearchIndex;
+    private final ApplicationEventPublisher eventPublisher;
+    private final long celebrityThreshold;
 
     /**
      * Constructor for PostService.
      *
-     * @param postRepository The repository for managing post data.
-     * @param userRepository The repository for managing user data.
-     * @param actionHelper   Helper class for performing common actions.
-     * @param inputHelper    Helper class for handling nullable attributes.
+     * @param postRepository             The repository for managing post data.
+     * @param postCommentRepository      The repository for managing post comment data.
+     * @param postLinkMetadataRepository The repository for managing the link metadata of posts.
+     * @param userRepository             The repository for managing user data.
+     * @param timelineRepository         The repository for managing the timelines.
+     * @param userFollowRepository       The repository for managing the follow relation.
+     * @param actionHelper               Helper class for performing common actions.
+     * @param inputHelper                Helper class for handling nullable attributes.
+     * @param outputHelper               Helper class for handling output-related operations.
+     * @param cursorHelper               Helper class for handling pagination cursors.
+     * @param likeHelper                 Helper class for adding and removing likes.
+     * @param bulkRepository             The repository executing the writes of the bulk mutations.
+     * @param postFilterRepository       The repository compiling post filters.
+     * @param postSearchIndex            The search index of the posts.
+     * @param eventPublisher             Publisher of the post events.
+     * @param celebrityThreshold         The number of followers above which posts are merged into feeds on read.
      */
     @Autowired
     public PostService(PostRepository postRepository,
+                       PostCommentRepository postCommentRepository,
+                       PostLinkMetadataRepository postLinkMetadataRepository,
                        UserRepository userRepository,
+                       TimelineRepository timelineRepository,
+                       UserFollowRepository userFollowRepository,
                        ActionHelper actionHelper,
-                       InputHelper inputHelper) {
+                       InputHelper inputHelper,
+                       OutputHelper outputHelper,
+                       CursorHelper cursorHelper,
+                       LikeHelper likeHelper,
+                       BulkRepository bulkRepository,
+                       PostFilterRepository postFilterRepository,
+                       PostSearchIndex postSearchIndex,
+                       ApplicationEventPublisher eventPublisher,
+                       @Value("${ravekidd.feed.celebrity-threshold:10000}") long celebrityThreshold) {
         this.postRepository = postRepository;
+        this.postCommentRepository = postCommentRepository;
+        this.postLinkMetadataRepository = postLinkMetadataRepository;
         this.userRepository = userRepository;
+        this.timelineRepository = timelineRepository;
+        this.userFollowRepository = userFollowRepository;
         this.actionHelper = actionHelper;
         this.inputHelper = inputHelper;
+        this.outputHelper = outputHelper;
+        this.cursorHelper = cursorHelper;
+        this.likeHelper = likeHelper;
+        this.bulkRepository = bulkRepository;
+        this.postFilterRepository = postFilterRepository;
+        this.postSearchIndex = postSearchIndex;
+        this.eventPublisher = eventPublisher;
+        this.celebrityThreshold = celebrityThreshold;
     }
 
     /**
      * @inheritDoc
      */
     @Override
-    public List<Post> getPosts(String query, String parameter, Authentication authentication) throws ServerException {
+    @Transactional(readOnly = true)
+    public List<PostView> getPosts(String query, String parameter, PostFilter filter, FetchPlan plan,
+                                   Authentication authentication) throws ServerException {
 
         LOG.debug("Received a getPosts request.");
         actionHelper.authenticate(authentication);
+
+        if (filter != null) {
+            PostFilter initializedFilter = inputHelper.initPostFilter(filter);
+            LOG.debug("Finding posts by filter {}...", initializedFilter);
+            return postFilterRepository.findViews(initializedFilter, plan);
+        }
+
+        // The query modes are compiled into filters of a single criterion.
         String[] initializedValues = inputHelper.initInputQuery(query, parameter);
 
         query = initializedValues[0];
         parameter = initializedValues[1];
 
-        List<Post> posts;
+        List<PostView> posts;
 
         switch (query) {
 
             case QUERY_POST_ID -> {
                 String[] ids = parameter.split(", ");
                 LOG.debug("Finding posts by ids: {}...", Arrays.toString(ids));
-                posts = actionHelper.getPostsByIds(ids, postRepository);
+                posts = actionHelper.getPostsByIds(ids, plan, postFilterRepository);
                 return posts;
             }
             case QUERY_POST_USER -> {
                 String[] ids = parameter.split(", ");
                 LOG.debug("Finding posts by userIds: {}...", Arrays.toString(ids));
-                posts = actionHelper.getPostsByUserIds(ids, postRepository);
+                posts = actionHelper.getPostsByUserIds(ids, plan, postFilterRepository);
                 return posts;
             }
             case QUERY_POST_DATE -> {
@@ -90,17 +184,137 @@ public class PostService implements IPostService {
                 LocalDateTime dateTo = inputHelper.transformStringToDateTime(dates[1]);
 
                 LOG.debug("Finding posts between dates {} and {}...", dateFrom, dateTo);
-                posts = actionHelper.getPostsByDates(dateFrom, dateTo, postRepository);
+                posts = actionHelper.getPostsByDates(dateFrom, dateTo, plan, postFilterRepository);
                 return posts;
             }
             default -> {
-                LOG.debug("Retrieving all posts...");
-                posts = postRepository.findAll();
+                LOG.debug("Retrieving the latest {} posts...", PAGE_SIZE_MAX);
+                posts = postFilterRepository.findViews(
+                        new PostFilter(null, null, null, null, PostSort.NEWEST, PAGE_SIZE_MAX), plan);
                 return posts;
             }
         }
     }
 
+    /**
+     * @inheritDoc
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Connection<PostView> getPostsConnection(Integer first, String after, Authentication authentication)
+            throws ServerException {
+
+        LOG.debug("Received a getPostsConnection request.");
+        actionHelper.authenticate(authentication);
+
+        int pageSize = inputHelper.initPageSize(first);
+        PageRequest page = PageRequest.of(0, pageSize + 1);
+        List<PostView> posts;
+
+        if (after == null || after.isBlank()) {
+            posts = postRepository.findFirstPage(page);
+        } else {
+            PostCursor cursor = cursorHelper.decode(after, 2,
+                    values -> new PostCursor(LocalDateTime.parse(values[0]), Long.parseLong(values[1])));
+
+            LOG.debug("Finding {} posts after {}...", pageSize, cursor);
+            posts = postRepository.findPageAfter(cursor.date(), cursor.id(), page);
+        }
+        return outputHelper.toConnection(posts, pageSize, post -> cursorHelper.encode(post.getDate(), post.getId()));
+    }
+
+    /**
+     * @inheritDoc
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Connection<PostView> getFeed(Integer first, String after, Authentication authentication)
+            throws ServerException {
+
+        LOG.debug("Received a getFeed request.");
+        actionHelper.authenticate(authentication);
+
+        int pageSize = inputHelper.initPageSize(first);
+        PageRequest page = PageRequest.of(0, pageSize + 1);
+        Long userId = actionHelper.findUserIdByUsername(authentication.getName(), userRepository);
+        List<Long> celebrityIds = findCelebrityIdsInFeedOf(userId);
+        List<PostView> timeline;
+        List<PostView> celebrityPosts = List.of();
+
+        if (after == null || after.isBlank()) {
+            timeline = timelineRepository.findFirstPage(userId, page);
+
+            if (!celebrityIds.isEmpty()) {
+                celebrityPosts = postRepository.findFirstPageByUserIdIn(celebrityIds, page);
+            }
+        } else {
+            PostCursor cursor = cursorHelper.decode(after, 2,
+                    values -> new PostCursor(LocalDateTime.parse(values[0]), Long.parseLong(values[1])));
+
+            LOG.debug("Finding {} feed posts after {}...", pageSize, cursor);
+            timeline = timelineRepository.findPageAfter(userId, cursor.date(), cursor.id(), page);
+
+            if (!celebrityIds.isEmpty()) {
+                celebrityPosts = postRepository.findPageAfterByUserIdIn(celebrityIds, cursor.date(), cursor.id(), page);
+            }
+        }
+
+        List<PostView> posts = outputHelper.mergeNewestFirst(timeline, celebrityPosts, pageSize + 1);
+        return outputHelper.toConnection(posts, pageSize, post -> cursorHelper.encode(post.getDate(), post.getId()));
+    }
+
+    /**
+     * @inheritDoc
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Connection<PostView> searchPosts(String text, Integer first, String after, Authentication authentication)
+            throws ServerException {
+
+        LOG.debug("Received a searchPosts request.");
+        actionHelper.authenticate(authentication);
+
+        int pageSize = inputHelper.initPageSize(first);
+        SearchCursor cursor = null;
+
+        if (after != null && !after.isBlank()) {
+            cursor = cursorHelper.decode(after, 2,
+                    values -> new SearchCursor(Float.parseFloat(values[0]), Long.parseLong(values[1])));
+        }
+
+        List<SearchHit> hits;
+
+        try {
+            LOG.debug("Searching {} posts matching '{}' after {}...", pageSize, text, cursor);
+            hits = postSearchIndex.search(text, pageSize + 1, cursor);
+
+        } catch (IOException exception) {
+            LOG.warn("Search for '{}' failed.", text, exception);
+            throw new ServerException(UNSUCCESSFUL_SEARCH.get());
+        }
+
+        // The page is bounded by the hits, not by the posts left of them, so skipped posts neither end the search
+        // early nor are matched again on the next page.
+        boolean hasNextPage = hits.size() > pageSize;
+        List<SearchHit> page = hasNextPage ? hits.subList(0, pageSize) : hits;
+        String endCursor = page.isEmpty() ? null
+                : cursorHelper.encode(page.get(page.size() - 1).score(), page.get(page.size() - 1).postId());
+
+        Map<Long, Float> scores = page.stream()
+                .collect(Collectors.toMap(SearchHit::postId, SearchHit::score, (a, b) -> a, LinkedHashMap::new));
+        Map<Long, PostView> postsById = postRepository.findViewsByIdIn(scores.keySet()).stream()
+                .collect(Collectors.toMap(PostView::getId, Function.identity()));
+
+        // Posts deleted since they were matched are skipped; the index catches up once the deletion is indexed.
+        List<PostView> posts = scores.keySet().stream()
+                .map(postsById::get)
+                .filter(Objects::nonNull)
+                .toList();
+
+        return outputHelper.toConnection(posts, hasNextPage, endCursor,
+                post -> cursorHelper.encode(scores.get(post.getId()), post.getId()));
+    }
+
     /**
      * @inheritDoc
      */
@@ -114,9 +328,11 @@ public class PostService implements IPostService {
         try {
             User user = actionHelper.findUserByUsername(authentication.getName(), userRepository);
             post.setUser(user);
+            Post createdPost = postRepository.save(post);
 
+            eventPublisher.publishEvent(new PostCreatedEvent(createdPost.getId(), user.getId(), createdPost.getDate()));
             LOG.debug("Post was created.");
-            return postRepository.save(post);
+            return createdPost;
 
         } catch (ServerException exception) {
             LOG.debug(exception.getLocalizedMessage());
@@ -139,6 +355,7 @@ public class PostService implements IPostService {
 
             if (post.getUser().getId().equals(user.getId())) {
                 inputHelper.patchPost(post, updatedPost);
+                eventPublisher.publishEvent(new PostUpdatedEvent(post.getId()));
                 LOG.debug("Post was successfully updated by '{}'.", authentication.getName());
                 return postRepository.save(post);
             }
@@ -164,7 +381,9 @@ public class PostService implements IPostService {
             User user = actionHelper.findUserByUsername(authentication.getName(), userRepository);
 
             if (post.getUser().getId().equals(user.getId())) {
+                timelineRepository.deleteByPostId(postId);
                 postRepository.delete(post);
+                eventPublisher.publishEvent(new PostDeletedEvent(postId));
                 LOG.debug("Post was deleted.");
                 return post;
             }
@@ -186,15 +405,14 @@ public class PostService implements IPostService {
         actionHelper.authenticate(authentication);
 
         try {
-            Post post = actionHelper.findPost(postId, postRepository);
-            User user = actionHelper.findUserByUsername(authentication.getName(), userRepository);
+            Long userId = actionHelper.findUserIdByUsername(authentication.getName(), userRepository);
 
-            if (!post.getLikes().contains(user)) {
-                post.addLike(user);
+            if (likeHelper.likePost(postId, userId, postRepository)) {
                 LOG.debug("Post was liked by '{}'.", authentication.getName());
-                return postRepository.save(post);
+            } else {
+                LOG.debug("Post was already liked by '{}'.", authentication.getName());
             }
-            throw new ServerException("Like could not be added to post. Invalid parameters.");
+            return actionHelper.findPost(postId, postRepository);
 
         } catch (ServerException exception) {
             LOG.debug(exception.getLocalizedMessage());
@@ -212,15 +430,14 @@ public class PostService implements IPostService {
         actionHelper.authenticate(authentication);
 
         try {
-            Post post = actionHelper.findPost(postId, postRepository);
-            User user = actionHelper.findUserByUsername(authentication.getName(), userRepository);
+            Long userId = actionHelper.findUserIdByUsername(authentication.getName(), userRepository);
 
-            if (post.getLikes().contains(user)) {
-                post.removeLike(user);
+            if (likeHelper.unlikePost(postId, userId, postRepository)) {
                 LOG.debug("Like was removed by '{}'.", authentication.getName());
-                return postRepository.save(post);
+            } else {
+                LOG.debug("Post was not liked by '{}'.", authentication.getName());
             }
-            throw new ServerException("Like could not be removed from post. Invalid parameters.");
+            return actionHelper.findPost(postId, postRepository);
 
         } catch (ServerException exception) {
             LOG.debug(exception.getLocalizedMessage());
@@ -244,10 +461,11 @@ public class PostService implements IPostService {
             User user = actionHelper.findUserByUsername(authentication.getName(), userRepository);
 
             PostComment comment = new PostComment(post, user, inputComment.getContent(), inputComment.getDate());
-            post.addComment(comment);
+            postCommentRepository.save(comment);
+            postRepository.updateCommentCount(postId, 1);
 
             LOG.debug("Post was commented by '{}'.", authentication.getName());
-            return postRepository.save(post);
+            return actionHelper.findPost(postId, postRepository);
 
         } catch (ServerException exception) {
             LOG.debug(exception.getLocalizedMessage());
@@ -255,6 +473,9 @@ public class PostService implements IPostService {
         }
     }
 
+    /**
+     * @inheritDoc
+     */
     @Override
     public Post updateComment(Long postId, PostComment inputComment, Authentication authentication)
             throws ServerException {
@@ -264,16 +485,13 @@ public class PostService implements IPostService {
         inputHelper.initInputPostComment(inputComment);
 
         try {
-            Post post = actionHelper.findPost(postId, postRepository);
-            User user = actionHelper.findUserByUsername(authentication.getName(), userRepository);
-
-            for (PostComment comment : post.getComments()) {
+            Long userId = actionHelper.findUserIdByUsername(authentication.getName(), userRepository);
+            int updated = postCommentRepository.updateContent(
+                    inputComment.getId(), postId, userId, inputComment.getContent());
 
-                if (comment.getId().equals(inputComment.getId()) && comment.getUser().getId().equals(user.getId())) {
-                    comment.setContent(inputComment.getContent());
-                    LOG.debug("Comment was updated by '{}'.", authentication.getName());
-                    return postRepository.save(post);
-                }
+            if (updated > 0) {
+                LOG.debug("Comment was updated by '{}'.", authentication.getName());
+                return actionHelper.findPost(postId, postRepository);
             }
             throw new ServerException("Comment could not be updated. Invalid parameters.");
 
@@ -293,16 +511,14 @@ public class PostService implements IPostService {
         actionHelper.authenticate(authentication);
 
         try {
-            Post post = actionHelper.findPost(postId, postRepository);
-            User user = actionHelper.findUserByUsername(authentication.getName(), userRepository);
+            Long userId = actionHelper.findUserIdByUsername(authentication.getName(), userRepository);
+            postCommentRepository.deleteLikesOfComment(commentId, postId, userId);
 
-            for (PostComment comment : post.getComments()) {
+            if (postCommentRepository.deleteComment(commentId, postId, userId) > 0) {
+                postRepository.updateCommentCount(postId, -1);
 
-                if (comment.getId().equals(commentId) && comment.getUser().getId().equals(user.getId())) {
-                    post.removeComment(comment);
-                    LOG.debug("Comment was deleted by '{}'.", authentication.getName());
-                    return postRepository.save(post);
-                }
+                LOG.debug("Comment was deleted by '{}'.", authentication.getName());
+                return actionHelper.findPost(postId, postRepository);
             }
             throw new ServerException("Comment could not be deleted. Invalid parameters.");
 
@@ -322,18 +538,14 @@ public class PostService implements IPostService {
         actionHelper.authenticate(authentication);
 
         try {
-            Post post = actionHelper.findPost(postId, postRepository);
-            User user = actionHelper.findUserByUsername(authentication.getName(), userRepository);
-
-            for (PostComment comment : post.getComments()) {
+            Long userId = actionHelper.findUserIdByUsername(authentication.getName(), userRepository);
 
-                if (comment.getId().equals(commentId) && !comment.getLikes().contains(user)) {
-                    comment.addLike(user);
-                    LOG.debug("Comment was liked by '{}'.", authentication.getName());
-                    return postRepository.save(post);
-                }
+            if (likeHelper.likeComment(postId, commentId, userId, postCommentRepository)) {
+                LOG.debug("Comment was liked by '{}'.", authentication.getName());
+            } else {
+                LOG.debug("Comment was already liked by '{}'.", authentication.getName());
             }
-            throw new ServerException("Like could not be added to comment. Invalid parameters.");
+            return actionHelper.findPost(postId, postRepository);
 
         } catch (ServerException exception) {
             LOG.debug(exception.getLocalizedMessage());
@@ -351,22 +563,424 @@ public class PostService implements IPostService {
         actionHelper.authenticate(authentication);
 
         try {
-            Post post = actionHelper.findPost(postId, postRepository);
-            User user = actionHelper.findUserByUsername(authentication.getName(), userRepository);
+            Long userId = actionHelper.findUserIdByUsername(authentication.getName(), userRepository);
 
-            for (PostComment comment : post.getComments()) {
-
-                if (comment.getId().equals(commentId) && comment.getLikes().contains(user)) {
-                    comment.removeLike(user);
-                    LOG.debug("Like was removed by '{}'.", authentication.getName());
-                    return postRepository.save(post);
-                }
+            if (likeHelper.unlikeComment(postId, commentId, userId, postCommentRepository)) {
+                LOG.debug("Like was removed by '{}'.", authentication.getName());
+            } else {
+                LOG.debug("Comment was not liked by '{}'.", authentication.getName());
             }
-            throw new ServerException("Like could not be removed from comment. Invalid parameters.");
+            return actionHelper.findPost(postId, postRepository);
 
         } catch (ServerException exception) {
             LOG.debug(exception.getLocalizedMessage());
             throw exception;
         }
     }
+
+    /**
+     * @inheritDoc
+     */
+    @Override
+    public BulkResult likePosts(List<Long> postIds, Authentication authentication) throws ServerException {
+
+        LOG.debug("Received a likePosts request for {} posts.", postIds.size());
+        actionHelper.authenticate(authentication);
+
+        Long userId = actionHelper.findUserIdByUsername(authentication.getName(), userRepository);
+        Set<Long> existing = postRepository.findAuthorIdsByIdIn(postIds).stream()
+                .map(row -> (Long) row[0])
+                .collect(Collectors.toSet());
+        Set<Long> liked = new HashSet<>(postRepository.findLikedPostIds(userId, postIds));
+
+        List<Long> toLike = postIds.stream()
+                .distinct()
+                .filter(existing::contains)
+                .filter(postId -> !liked.contains(postId))
+                .toList();
+
+        bulkRepository.insertLikes(userId, toLike);
+        bulkRepository.recountLikes(toLike);
+        LOG.debug("User '{}' liked {} of {} posts.", authentication.getName(), toLike.size(), postIds.size());
+
+        List<BulkItemResult> items = new ArrayList<>(postIds.size());
+
+        for (int i = 0; i < postIds.size(); i++) {
+            Long postId = postIds.get(i);
+            items.add(existing.contains(postId)
+                    ? BulkItemResult.success(i, postId)
+                    : BulkItemResult.failure(i, postId, UNSUCCESSFUL_FIND_POST_BY_ID.get().formatted(postId)));
+        }
+        return BulkResult.of(items);
+    }
+
+    /**
+     * @inheritDoc
+     */
+    @Override
+    public BulkResult deletePosts(List<Long> postIds, Authentication authentication) throws ServerException {
+
+        LOG.debug("Received a deletePosts request for {} posts.", postIds.size());
+        actionHelper.authenticate(authentication);
+
+        Long userId = actionHelper.findUserIdByUsername(authentication.getName(), userRepository);
+        boolean admin = actionHelper.isAdmin(authentication);
+        Map<Long, Long> authorIds = postRepository.findAuthorIdsByIdIn(postIds).stream()
+                .collect(Collectors.toMap(row -> (Long) row[0], row -> (Long) row[1]));
+
+        List<Long> toDelete = postIds.stream()
+                .distinct()
+                .filter(postId -> authorIds.containsKey(postId) && (admin || userId.equals(authorIds.get(postId))))
+                .toList();
+
+        bulkRepository.deletePosts(toDelete);
+        toDelete.forEach(postId -> eventPublisher.publishEvent(new PostDeletedEvent(postId)));
+        LOG.debug("User '{}' deleted {} of {} posts.", authentication.getName(), toDelete.size(), postIds.size());
+
+        Set<Long> deleted = new HashSet<>(toDelete);
+        List<BulkItemResult> items = new ArrayList<>(postIds.size());
+
+        for (int i = 0; i < postIds.size(); i++) {
+            Long postId = postIds.get(i);
+
+            if (deleted.contains(postId)) {
+                items.add(BulkItemResult.success(i, postId));
+            } else if (!authorIds.containsKey(postId)) {
+                items.add(BulkItemResult.failure(i, postId, UNSUCCESSFUL_FIND_POST_BY_ID.get().formatted(postId)));
+            } else {
+                items.add(BulkItemResult.failure(i, postId, UNSUCCESSFUL_DELETE_POST_BY_ID.get().formatted(postId)));
+            }
+        }
+        return BulkResult.of(items);
+    }
+
+    /**
+     * @inheritDoc
+     */
+    @Override
+    public BulkResult addComments(List<BulkCommentInput> comments, Authentication authentication)
+            throws ServerException {
+
+        LOG.debug("Received an addComments request for {} comments.", comments.size());
+        actionHelper.authenticate(authentication);
+
+        Long userId = actionHelper.findUserIdByUsername(authentication.getName(), userRepository);
+        Set<Long> existing = postRepository.findAuthorIdsByIdIn(
+                        comments.stream().map(BulkCommentInput::postId).collect(Collectors.toSet())).stream()
+                .map(row -> (Long) row[0])
+                .collect(Collectors.toSet());
+
+        BulkItemResult[] items = new BulkItemResult[comments.size()];
+        List<PostComment> valid = new ArrayList<>(comments.size());
+        List<Integer> validIndexes = new ArrayList<>(comments.size());
+        Map<Long, Integer> commentCounts = new HashMap<>();
+        User user = userRepository.getReferenceById(userId);
+        LocalDateTime date = LocalDateTime.now();
+
+        for (int i = 0; i < comments.size(); i++) {
+
+            BulkCommentInput comment = comments.get(i);
+
+            if (!existing.contains(comment.postId())) {
+                items[i] = BulkItemResult.failure(i, comment.postId(),
+                        UNSUCCESSFUL_FIND_POST_BY_ID.get().formatted(comment.postId()));
+            } else if (comment.content() == null || comment.content().isBlank()) {
+                items[i] = BulkItemResult.failure(i, comment.postId(), UNSUCCESSFUL_BLANK_COMMENT.get());
+            } else {
+                Post post = postRepository.getReferenceById(comment.postId());
+                valid.add(new PostComment(post, user, comment.content(), date));
+                validIndexes.add(i);
+                commentCounts.merge(comment.postId(), 1, Integer::sum);
+            }
+        }
+
+        // The IDs come from the pooled sequence, so the inserts are sent as JDBC batches on flush.
+        postCommentRepository.saveAll(valid);
+        postCommentRepository.flush();
+        bulkRepository.addCommentCounts(commentCounts);
+        LOG.debug("User '{}' added {} of {} comments.", authentication.getName(), valid.size(), comments.size());
+
+        for (int j = 0; j < validIndexes.size(); j++) {
+            int i = validIndexes.get(j);
+            items[i] = BulkItemResult.success(i, valid.get(j).getId());
+        }
+        return BulkResult.of(Arrays.asList(items));
+    }
+
+    /**
+     * @inheritDoc
+     */
+    @Override
+    public BulkResult importPosts(List<ImportPostInput> posts, Authentication authentication) throws ServerException {
+
+        LOG.debug("Received an importPosts request for {} posts.", posts.size());
+        actionHelper.authenticate(authentication);
+
+        Set<Long> userIds = new HashSet<>();
+        posts.forEach(post -> {
+            userIds.add(post.userId());
+            if (post.comments() != null) {
+                post.comments().forEach(comment -> userIds.add(comment == null ? null : comment.userId()));
+            }
+        });
+        userIds.remove(null);
+        Set<Long> existing = new HashSet<>(userRepository.findIdsByIdIn(userIds));
+
+        BulkItemResult[] items = new BulkItemResult[posts.size()];
+        List<Post> valid = new ArrayList<>(posts.size());
+        List<Integer> validIndexes = new ArrayList<>(posts.size());
+
+        for (int i = 0; i < posts.size(); i++) {
+
+            ImportPostInput input = posts.get(i);
+            String failure = validateImport(input, existing);
+
+            if (failure != null) {
+                items[i] = BulkItemResult.failure(i, null, failure);
+                continue;
+            }
+
+            LocalDateTime date = input.date() == null ? LocalDateTime.now() : LocalDateTime.parse(input.date());
+            List<ImportCommentInput> comments = input.comments() == null ? List.of() : input.comments();
+            Post post = new Post(userRepository.getReferenceById(input.userId()), input.description(),
+                    input.link() == null ? "" : input.link(), date);
+            post.setLikeCount(0L);
+            post.setCommentCount((long) comments.size());
+            post.setLikes(new HashSet<>());
+            post.setComments(new ArrayList<>(comments.size()));
+
+            for (ImportCommentInput comment : comments) {
+                post.addComment(new PostComment(post, userRepository.getReferenceById(comment.userId()),
+                        comment.content(), date));
+            }
+            valid.add(post);
+            validIndexes.add(i);
+        }
+
+        // The posts and their cascaded comments are inserted as ordered JDBC batches on flush.
+        postRepository.saveAll(valid);
+        postRepository.flush();
+        valid.forEach(post -> eventPublisher.publishEvent(
+                new PostCreatedEvent(post.getId(), post.getUser().getId(), post.getDate())));
+        LOG.debug("User '{}' imported {} of {} posts.", authentication.getName(), valid.size(), posts.size());
+
+        for (int j = 0; j < validIndexes.size(); j++) {
+            int i = validIndexes.get(j);
+            items[i] = BulkItemResult.success(i, valid.get(j).getId());
+        }
+        return BulkResult.of(Arrays.asList(items));
+    }
+
+    /**
+     * @inheritDoc
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Map<PageKey, Connection<User>> getPostLikes(Set<PageKey> keys) throws ServerException {
+
+        LOG.debug("Loading likes for {} posts.", keys.size());
+        return loadPages(keys, (postIds, limit, after) -> {
+            Long afterUserId = after == null ? 0L : decodeUserCursor(after);
+            List<Object[]> likes = postRepository.findLikePagesByPostIdIn(postIds, afterUserId, limit);
+            return actionHelper.groupUsersByOwner(postIds, likes, userRepository);
+        }, user -> cursorHelper.encode(user.getId()));
+    }
+
+    /**
+     * @inheritDoc
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Map<Long, PostLinkMetadata> getPostMedia(Set<Long> postIds) {
+
+        LOG.debug("Loading link metadata for {} posts.", postIds.size());
+        return postLinkMetadataRepository.findByPostIdInAndStatus(postIds, PostLinkMetadata.Status.RESOLVED).stream()
+                .collect(Collectors.toMap(PostLinkMetadata::getPostId, Function.identity()));
+    }
+
+    /**
+     * @inheritDoc
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Map<PageKey, Connection<PostComment>> getPostComments(Set<PageKey> keys) throws ServerException {
+
+        LOG.debug("Loading comments for {} posts.", keys.size());
+        return loadPages(keys, (postIds, limit, after) -> {
+            List<Object[]> comments;
+
+            if (after == null) {
+                comments = postCommentRepository.findPagesByPostIdIn(postIds, limit);
+            } else {
+                CommentCursor cursor = cursorHelper.decode(after, 2,
+                        values -> new CommentCursor(LocalDateTime.parse(values[0]), Long.parseLong(values[1])));
+                comments = postCommentRepository.findPagesAfterByPostIdIn(postIds, cursor.date(), cursor.id(), limit);
+            }
+            return actionHelper.groupByOwner(postIds, comments, postCommentRepository::findAllById,
+                    PostComment::getId);
+        }, comment -> cursorHelper.encode(comment.getDate(), comment.getId()));
+    }
+
+    /**
+     * @inheritDoc
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Map<PageKey, Connection<PostView>> getUserPosts(Set<PageKey> keys) throws ServerException {
+
+        LOG.debug("Loading posts for {} users.", keys.size());
+        Map<PageKey, Connection<PostView>> pages = loadPages(keys, (userIds, limit, after) -> {
+            List<Object[]> posts;
+
+            if (after == null) {
+                posts = postRepository.findPagesByUserIdIn(userIds, limit);
+            } else {
+                PostCursor cursor = cursorHelper.decode(after, 2,
+                        values -> new PostCursor(LocalDateTime.parse(values[0]), Long.parseLong(values[1])));
+                posts = postRepository.findPagesAfterByUserIdIn(userIds, cursor.date(), cursor.id(), limit);
+            }
+            return actionHelper.groupByOwner(userIds, posts, postRepository::findViewsByIdIn, PostView::getId);
+        }, post -> cursorHelper.encode(post.getDate(), post.getId()));
+
+        // Users have no post counter, so the posts are counted on IDX_POSTS_USER_DATE.
+        Set<Long> userIds = keys.stream().map(PageKey::parentId).collect(Collectors.toSet());
+        Map<Long, Long> counts = postRepository.findPostCountsByUserIdIn(userIds).stream()
+                .collect(Collectors.toMap(row -> (Long) row[0], row -> (Long) row[1]));
+
+        pages.replaceAll((key, page) -> page.withTotalCount(counts.getOrDefault(key.parentId(), 0L)));
+        return pages;
+    }
+
+    /**
+     * @inheritDoc
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Map<PageKey, Connection<User>> getCommentLikes(Set<PageKey> keys) throws ServerException {
+
+        LOG.debug("Loading likes for {} comments.", keys.size());
+        return loadPages(keys, (commentIds, limit, after) -> {
+            Long afterUserId = after == null ? 0L : decodeUserCursor(after);
+            List<Object[]> likes = postCommentRepository.findLikePagesByCommentIdIn(commentIds, afterUserId, limit);
+            return actionHelper.groupUsersByOwner(commentIds, likes, userRepository);
+        }, user -> cursorHelper.encode(user.getId()));
+    }
+
+    /**
+     * Loads a page of children for each key of a batch. Keys with the same page size and cursor are loaded
+     * by one query, which numbers the children of each parent with a window function and keeps the first
+     * pageSize + 1 of them, so a batch costs one query per distinct page, not per parent.
+     *
+     * @param keys   The keys of the batch.
+     * @param query  The query of the children of a set of parents.
+     * @param cursor Function encoding the cursor of a child.
+     * @param <T>    The type of the children.
+     * @return Map of key to the page of children of its parent.
+     * @throws ServerException If a cursor is malformed.
+     */
+    private <T> Map<PageKey, Connection<T>> loadPages(Set<PageKey> keys, PageQuery<T> query,
+                                                      Function<T, String> cursor) throws ServerException {
+
+        Map<PageKey, Connection<T>> pages = new HashMap<>();
+        Map<List<Object>, List<PageKey>> batches = keys.stream().collect(Collectors.groupingBy(
+                key -> Arrays.asList(inputHelper.initPageSize(key.first()), normalizeCursor(key.after()))));
+
+        for (List<PageKey> batch : batches.values()) {
+
+            int pageSize = inputHelper.initPageSize(batch.get(0).first());
+            Set<Long> parentIds = batch.stream().map(PageKey::parentId).collect(Collectors.toSet());
+            Map<Long, List<T>> children = query.find(parentIds, pageSize + 1, normalizeCursor(batch.get(0).after()));
+
+            for (PageKey key : batch) {
+                pages.put(key, outputHelper.toConnection(children.get(key.parentId()), pageSize, cursor));
+            }
+        }
+        return pages;
+    }
+
+    /**
+     * Finds the celebrities among the user and the followees of the user, whose posts are merged into the feed
+     * on read. The few users over the celebrity threshold are cached, so the follow relation is only probed
+     * by its primary key. Posts written before their author crossed the threshold were already fanned out;
+     * they are found both in the timeline and among the posts of the author, and the merge keeps one of them.
+     * The cache expires after a few minutes, so for that long the new posts of a user who just crossed
+     * the threshold are missing from the feeds.
+     *
+     * @param userId The ID of the user.
+     * @return The IDs of the celebrities in the feed of the user.
+     */
+    private List<Long> findCelebrityIdsInFeedOf(Long userId) {
+
+        List<Long> celebrities = userRepository.findCelebrityIds(celebrityThreshold);
+
+        if (celebrities.isEmpty()) {
+            return List.of();
+        }
+
+        List<Long> celebrityIds = new ArrayList<>(userFollowRepository.findFolloweeIdsIn(userId, celebrities));
+
+        if (celebrities.contains(userId)) {
+            celebrityIds.add(userId);
+        }
+        return celebrityIds;
+    }
+
+    private String normalizeCursor(String after) {
+        return after == null || after.isBlank() ? null : after;
+    }
+
+    private Long decodeUserCursor(String after) throws ServerException {
+        return cursorHelper.decode(after, 1, values -> Long.parseLong(values[0]));
+    }
+
+    /**
+     * Validates an imported post and its comments.
+     *
+     * @param input   The imported post.
+     * @param userIds The IDs of the existing users among the authors.
+     * @return The reason the post cannot be imported, or null if it is valid.
+     */
+    private String validateImport(ImportPostInput input, Set<Long> userIds) {
+
+        if (input.userId() == null || !userIds.contains(input.userId())) {
+            return UNSUCCESSFUL_FIND_USER_BY_ID.get().formatted(input.userId());
+        }
+        if (input.description() == null || input.description().isBlank()) {
+            return UNSUCCESSFUL_BLANK_DESCRIPTION.get();
+        }
+        if (input.date() != null) {
+            try {
+                LocalDateTime.parse(input.date());
+            } catch (DateTimeParseException exception) {
+                return UNSUCCESSFUL_INVALID_DATE.get().formatted(input.date());
+            }
+        }
+
+        List<ImportCommentInput> comments = input.comments() == null ? List.of() : input.comments();
+
+        for (int i = 0; i < comments.size(); i++) {
+
+            ImportCommentInput comment = comments.get(i);
+
+            if (comment == null || comment.userId() == null || !userIds.contains(comment.userId())) {
+                return UNSUCCESSFUL_IMPORT_COMMENT.get().formatted(i,
+                        UNSUCCESSFUL_FIND_USER_BY_ID.get().formatted(comment == null ? null : comment.userId()));
+            }
+            if (comment.content() == null || comment.content().isBlank()) {
+                return UNSUCCESSFUL_IMPORT_COMMENT.get().formatted(i, UNSUCCESSFUL_BLANK_COMMENT.get());
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Query of the children of a set of parents, limited per parent.
+     *
+     * @param <T> The type of the children.
+     */
+    @FunctionalInterface
+    private interface PageQuery<T> {
+
+        Map<Long, List<T>> find(Set<Long> parentIds, int limit, String after) throws ServerException;
+    }
 }
@@ -1,24 +1,40 @@
 package com.ravekidd.v1.service.services;
 
 import com.ravekidd.v1.exception.ServerException;
+import com.ravekidd.v1.model.FetchPlan;
 import com.ravekidd.v1.model.User;
 import com.ravekidd.v1.model.auth.AuthenticationResponse;
+import com.ravekidd.v1.model.connection.Connection;
 import com.ravekidd.v1.security.token.JWTProvider;
+import com.ravekidd.v1.service.events.UserRenamedEvent;
 import com.ravekidd.v1.service.helpers.ActionHelper;
+import com.ravekidd.v1.service.helpers.CursorHelper;
 import com.ravekidd.v1.service.helpers.InputHelper;
+import com.ravekidd.v1.service.helpers.OutputHelper;
 import com.ravekidd.v1.service.interfaces.IUserService;
+import com.ravekidd.v1.service.repositories.TimelineRepository;
+import com.ravekidd.v1.service.repositories.UserFollowRepository;
 import com.ravekidd.v1.service.repositories.UserRepository;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 import static com.ravekidd.v1.consts.Constants.*;
 import static com.ravekidd.v1.consts.Messages.*;
@@ -32,37 +48,64 @@ public class UserService implements IUserService {
 
     private static final Logger LOG = LogManager.getLogger(UserService.class);
     private final UserRepository userRepository;
+    private final UserFollowRepository userFollowRepository;
+    private final TimelineRepository timelineRepository;
     private final JWTProvider jwtProvider;
     private final ActionHelper actionHelper;
     private final InputHelper inputHelper;
+    private final OutputHelper outputHelper;
+    private final CursorHelper cursorHelper;
     private final PasswordEncoder passwordEncoder;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int feedBackfillSize;
 
     /**
      * Constructor for UserService.
      *
-     * @param userRepository The repository for managing user data.
-     * @param jwtProvider    The provider for handling JWT (JSON Web Token) operations.
-     * @param actionHelper   Helper class for performing common actions.
-     * @param inputHelper    Helper class for handling nullable attributes.
+     * @param userRepository       The repository for managing user data.
+     * @param userFollowRepository The repository for managing the follow relation.
+     * @param timelineRepository   The repository for managing the timelines.
+     * @param jwtProvider          The provider for handling JWT (JSON Web Token) operations.
+     * @param actionHelper         Helper class for performing common actions.
+     * @param inputHelper          Helper class for handling nullable attributes.
+     * @param outputHelper         Helper class for handling output-related operations.
+     * @param cursorHelper         Helper class for handling pagination cursors.
+     * @param passwordEncoder      The encoder of the passwords.
+     * @param eventPublisher       Publisher of the user events.
+     * @param feedBackfillSize     The number of recent posts added to the feed when following a user.
      */
     @Autowired
     public UserService(UserRepository userRepository,
+                       UserFollowRepository userFollowRepository,
+                       TimelineRepository timelineRepository,
                        JWTProvider jwtProvider,
                        ActionHelper actionHelper,
                        InputHelper inputHelper,
-                       PasswordEncoder passwordEncoder) {
+                       OutputHelper outputHelper,
+                       CursorHelper cursorHelper,
+                       PasswordEncoder passwordEncoder,
+                       ApplicationEventPublisher eventPublisher,
+                       @Value("${ravekidd.feed.backfill-size:50}") int feedBackfillSize) {
         this.userRepository = userRepository;
+        this.userFollowRepository = userFollowRepository;
+        this.timelineRepository = timelineRepository;
         this.jwtProvider = jwtProvider;
         this.actionHelper = actionHelper;
         this.inputHelper = inputHelper;
+        this.outputHelper = outputHelper;
+        this.cursorHelper = cursorHelper;
         this.passwordEncoder = passwordEncoder;
+        this.eventPublisher = eventPublisher;
+        this.feedBackfillSize = feedBackfillSize;
     }
 
     /**
      * @inheritDoc
      */
     @Override
-    public List<User> getUsers(String query, String parameter, Authentication authentication) throws ServerException {
+    @Transactional(readOnly = true)
+    public List<User> getUsers(String query, String parameter, FetchPlan plan, Authentication authentication)
+            throws ServerException {
 
         LOG.debug("Received a getUsers request.");
         actionHelper.authenticate(authentication);
@@ -78,18 +121,21 @@ public class UserService implements IUserService {
             case QUERY_USER_ID -> {
                 String[] ids = parameter.split(", ");
                 LOG.debug("Finding users by ids: {}...", Arrays.toString(ids));
-                users = actionHelper.getUsersByIds(ids, userRepository);
+                users = actionHelper.getUsersByIds(ids, plan, userRepository);
                 return users;
             }
             case QUERY_USER_USERNAME -> {
                 String[] usernames = parameter.split(", ");
                 LOG.debug("Finding users by usernames: {}...", Arrays.toString(usernames));
-                users = actionHelper.getUsersByUsernames(usernames, userRepository);
+                users = actionHelper.getUsersByUsernames(usernames, plan, userRepository);
                 return users;
             }
             default -> {
-                LOG.debug("Retrieving all users...");
-                users = userRepository.findAll();
+                LOG.debug("Retrieving the first {} users...", PAGE_SIZE_MAX);
+                PageRequest page = PageRequest.of(0, PAGE_SIZE_MAX);
+                users = plan.roles()
+                        ? userRepository.findFirstPage(page)
+                        : userRepository.findFirstPageOfSummaries(page);
                 return users;
             }
         }
@@ -99,12 +145,43 @@ public class UserService implements IUserService {
      * @inheritDoc
      */
     @Override
+    @Transactional(readOnly = true)
+    public Connection<User> getUsersConnection(Integer first, String after, Authentication authentication)
+            throws ServerException {
+
+        LOG.debug("Received a getUsersConnection request.");
+        actionHelper.authenticate(authentication);
+
+        int pageSize = inputHelper.initPageSize(first);
+        PageRequest page = PageRequest.of(0, pageSize + 1);
+        List<User> users;
+
+        if (after == null || after.isBlank()) {
+            users = userRepository.findFirstPage(page);
+        } else {
+            Long cursor = cursorHelper.decode(after, 1, values -> Long.parseLong(values[0]));
+
+            LOG.debug("Finding {} users after ID {}...", pageSize, cursor);
+            users = userRepository.findPageAfter(cursor, page);
+        }
+        return outputHelper.toConnection(users, pageSize, user -> cursorHelper.encode(user.getId()));
+    }
+
+    /**
+     * @inheritDoc
+     */
+    @Override
+    @CacheEvict(cacheNames = CACHE_USER_DETAILS, key = "#result.username")
     public User deleteUser(Long id, Authentication authentication) throws ServerException {
 
         LOG.debug("Received a deleteUser request.");
         actionHelper.authenticate(authentication);
 
         try {
+            userRepository.decrementFollowerCountsOfFollowees(id);
+            userFollowRepository.deleteFollowsOfUser(id);
+            timelineRepository.deleteByUser(id);
+
             User user = actionHelper.findUserById(id, userRepository);
             user.getRoles().clear();
             userRepository.delete(user);
@@ -122,6 +199,7 @@ public class UserService implements IUserService {
      * @inheritDoc
      */
     @Override
+    @CacheEvict(cacheNames = CACHE_USER_DETAILS, key = "#authentication.name")
     public AuthenticationResponse changeUsername(String newUsername, Authentication authentication)
             throws ServerException {
 
@@ -133,6 +211,7 @@ public class UserService implements IUserService {
             User user = actionHelper.findUserByUsername(authentication.getName(), userRepository);
             user.setUsername(newUsername);
             userRepository.save(user);
+            eventPublisher.publishEvent(new UserRenamedEvent(user.getId()));
 
             String newToken = jwtProvider.generateToken(
                     new UsernamePasswordAuthenticationToken(newUsername, null)
@@ -175,6 +254,7 @@ public class UserService implements IUserService {
      * @inheritDoc
      */
     @Override
+    @CacheEvict(cacheNames = CACHE_USER_DETAILS, key = "#authentication.name")
     public User changePassword(String newPassword, Authentication authentication) throws ServerException {
 
         LOG.debug("Received a changePassword request.");
@@ -192,4 +272,72 @@ public class UserService implements IUserService {
             throw exception;
         }
     }
+
+    /**
+     * @inheritDoc
+     */
+    @Override
+    public User followUser(Long userId, Authentication authentication) throws ServerException {
+
+        LOG.debug("Received a followUser request.");
+        actionHelper.authenticate(authentication);
+
+        try {
+            Long followerId = actionHelper.findUserIdByUsername(authentication.getName(), userRepository);
+            actionHelper.findUserById(userId, userRepository);
+
+            if (followerId.equals(userId)) {
+                throw new ServerException(UNSUCCESSFUL_FOLLOW_SELF.get());
+            }
+
+            if (userFollowRepository.insertFollow(followerId, userId, LocalDateTime.now()) > 0) {
+                userRepository.updateFollowerCount(userId, 1);
+                int backfilled = timelineRepository.backfill(followerId, userId, feedBackfillSize);
+                LOG.debug("User {} followed user {}, {} posts were added to the feed.", followerId, userId, backfilled);
+            }
+            return actionHelper.findUserById(userId, userRepository);
+
+        } catch (ServerException exception) {
+            LOG.debug(exception.getLocalizedMessage());
+            throw exception;
+        }
+    }
+
+    /**
+     * @inheritDoc
+     */
+    @Override
+    public User unfollowUser(Long userId, Authentication authentication) throws ServerException {
+
+        LOG.debug("Received an unfollowUser request.");
+        actionHelper.authenticate(authentication);
+
+        try {
+            Long followerId = actionHelper.findUserIdByUsername(authentication.getName(), userRepository);
+            actionHelper.findUserById(userId, userRepository);
+
+            if (userFollowRepository.deleteFollow(followerId, userId) > 0) {
+                userRepository.updateFollowerCount(userId, -1);
+                timelineRepository.deleteByUserIdAndAuthorId(followerId, userId);
+                LOG.debug("User {} unfollowed user {}.", followerId, userId);
+            }
+            return actionHelper.findUserById(userId, userRepository);
+
+        } catch (ServerException exception) {
+            LOG.debug(exception.getLocalizedMessage());
+            throw exception;
+        }
+    }
+
+    /**
+     * @inheritDoc
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Map<Long, User> getUsersByIds(Set<Long> ids) {
+
+        LOG.debug("Loading {} users by ids.", ids.size());
+        return userRepository.findByIdIn(ids).stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+    }
 }
@@ -1,6 +1,4 @@
-CREATE DATABASE IF NOT EXISTS ravekidd;
-
-USE ravekidd;
+-- Users with their roles, posts with their likes and comments, and comments with their likes.
 
 CREATE TABLE `roles` (
   `id` bigint NOT NULL AUTO_INCREMENT,
@@ -13,6 +11,7 @@ CREATE TABLE `users` (
   `image` varchar(255) DEFAULT NULL,
   `password` varchar(255) DEFAULT NULL,
   `user_name` varchar(255) DEFAULT NULL,
+  `follower_count` bigint NOT NULL DEFAULT 0,
   PRIMARY KEY (`user_id`),
   UNIQUE KEY `UK_k8d0f2n7n88w1a16yhua64onx` (`user_name`)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
@@ -22,9 +21,12 @@ CREATE TABLE `posts` (
   `date` datetime(6) DEFAULT NULL,
   `description` varchar(255) DEFAULT NULL,
   `link` varchar(255) DEFAULT NULL,
+  `like_count` bigint NOT NULL DEFAULT 0,
+  `comment_count` bigint NOT NULL DEFAULT 0,
   `user_id` bigint DEFAULT NULL,
   PRIMARY KEY (`post_id`),
   KEY `FK5lidm6cqbc7u4xhqpxm898qme` (`user_id`),
+  KEY `IDX_POSTS_USER_DATE` (`user_id`,`date` DESC,`post_id` DESC),
   CONSTRAINT `FK5lidm6cqbc7u4xhqpxm898qme` FOREIGN KEY (`user_id`) REFERENCES `users` (`user_id`)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
 
@@ -32,6 +34,7 @@ CREATE TABLE `post_comments` (
   `comment_id` bigint NOT NULL AUTO_INCREMENT,
   `content` varchar(255) DEFAULT NULL,
   `date` datetime(6) DEFAULT NULL,
+  `like_count` bigint NOT NULL DEFAULT 0,
   `post_id` bigint DEFAULT NULL,
   `user_id` bigint DEFAULT NULL,
   PRIMARY KEY (`comment_id`),
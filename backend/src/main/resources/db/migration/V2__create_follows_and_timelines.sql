@@ -0,0 +1,21 @@
+-- Follow relation and the fan-out-on-write home timelines.
+
+CREATE TABLE `user_follows` (
+  `follower_id` bigint NOT NULL,
+  `followee_id` bigint NOT NULL,
+  `date` datetime(6) DEFAULT NULL,
+  PRIMARY KEY (`follower_id`,`followee_id`),
+  KEY `IDX_USER_FOLLOWS_FOLLOWEE` (`followee_id`),
+  CONSTRAINT `FK_USER_FOLLOWS_FOLLOWER` FOREIGN KEY (`follower_id`) REFERENCES `users` (`user_id`),
+  CONSTRAINT `FK_USER_FOLLOWS_FOLLOWEE` FOREIGN KEY (`followee_id`) REFERENCES `users` (`user_id`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
+
+CREATE TABLE `timelines` (
+  `user_id` bigint NOT NULL,
+  `post_id` bigint NOT NULL,
+  `author_id` bigint NOT NULL,
+  `post_date` datetime(6) NOT NULL,
+  PRIMARY KEY (`user_id`,`post_id`),
+  KEY `IDX_TIMELINES_USER_DATE` (`user_id`,`post_date` DESC,`post_id` DESC),
+  KEY `IDX_TIMELINES_POST` (`post_id`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
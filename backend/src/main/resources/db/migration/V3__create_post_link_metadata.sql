@@ -0,0 +1,15 @@
+-- Track and album metadata resolved from the post links.
+
+CREATE TABLE `post_link_metadata` (
+  `post_id` bigint NOT NULL,
+  `url` varchar(512) NOT NULL,
+  `status` varchar(16) NOT NULL,
+  `provider` varchar(32) DEFAULT NULL,
+  `title` varchar(255) DEFAULT NULL,
+  `artist` varchar(255) DEFAULT NULL,
+  `artwork_url` varchar(512) DEFAULT NULL,
+  `duration_seconds` int DEFAULT NULL,
+  `fetched_at` datetime(6) NOT NULL,
+  PRIMARY KEY (`post_id`),
+  KEY `IDX_POST_LINK_METADATA_URL` (`url`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
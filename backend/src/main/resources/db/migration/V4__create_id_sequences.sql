@@ -0,0 +1,26 @@
+-- Users, posts and comments take their IDs from pooled sequences, so Hibernate can batch their inserts.
+-- MySQL has no sequences, so each one is emulated by a single-row table holding the next value.
+-- Every sequence continues at least one allocation (50) above the highest existing ID. The script can run on
+-- a database baselined at V3 whose sequence tables were already created, and never moves a sequence backwards.
+-- AUTO_INCREMENT is kept, so rows inserted by hand still get an ID.
+
+CREATE TABLE IF NOT EXISTS `users_seq` (
+  `next_val` bigint DEFAULT NULL
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
+
+CREATE TABLE IF NOT EXISTS `posts_seq` (
+  `next_val` bigint DEFAULT NULL
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
+
+CREATE TABLE IF NOT EXISTS `post_comments_seq` (
+  `next_val` bigint DEFAULT NULL
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
+
+INSERT INTO users_seq (next_val) SELECT 1 FROM DUAL WHERE NOT EXISTS (SELECT 1 FROM users_seq);
+INSERT INTO posts_seq (next_val) SELECT 1 FROM DUAL WHERE NOT EXISTS (SELECT 1 FROM posts_seq);
+INSERT INTO post_comments_seq (next_val) SELECT 1 FROM DUAL WHERE NOT EXISTS (SELECT 1 FROM post_comments_seq);
+
+UPDATE users_seq SET next_val = GREATEST(next_val, (SELECT COALESCE(MAX(user_id), 0) + 51 FROM users));
+UPDATE posts_seq SET next_val = GREATEST(next_val, (SELECT COALESCE(MAX(post_id), 0) + 51 FROM posts));
+UPDATE post_comments_seq SET next_val = GREATEST(next_val,
+  (SELECT COALESCE(MAX(comment_id), 0) + 51 FROM post_comments));
@@ -0,0 +1,14 @@
+-- Indexes of the date range and global timeline queries, the comments of a post in date order
+-- and the likes of a user.
+-- Posts of a user by date are already served by IDX_POSTS_USER_DATE (user_id, date DESC, post_id DESC).
+
+CREATE INDEX `IDX_POSTS_DATE` ON `posts` (`date` DESC, `post_id` DESC);
+
+CREATE INDEX `IDX_POST_COMMENTS_POST_DATE` ON `post_comments` (`post_id`, `date`, `comment_id`);
+
+-- The composite indexes also back the user_id foreign keys, so the single-column indexes become redundant.
+CREATE INDEX `IDX_POST_LIKES_USER` ON `post_likes` (`user_id`, `post_id`);
+ALTER TABLE `post_likes` DROP INDEX `FKkgau5n0nlewg6o9lr4yibqgxj`;
+
+CREATE INDEX `IDX_POST_COMMENTS_LIKES_USER` ON `post_comments_likes` (`user_id`, `comment_id`);
+ALTER TABLE `post_comments_likes` DROP INDEX `FK960tfpgb2nru2a5uerqmmw7j5`;
@@ -0,0 +1,4 @@
+-- The feed merges in the posts of the celebrities among the followees at read time. The users over the
+-- celebrity threshold are found by a range scan of this index instead of a scan of every user.
+
+CREATE INDEX `IDX_USERS_FOLLOWER_COUNT` ON `users` (`follower_count`);
@@ -0,0 +1,12 @@
+package com.ravekidd.v1;
+
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+
+/**
+ * Boot configuration of the tests under {@code com.ravekidd.v1}. {@code @SpringBootTest} finds it before
+ * {@code com.ravekidd.Application}, so the context scans the GraphQL API only and leaves out the unfinished
+ * v2 REST controllers and services, which cannot be wired yet.
+ */
+@SpringBootApplication
+public class V1TestApplication {
+}
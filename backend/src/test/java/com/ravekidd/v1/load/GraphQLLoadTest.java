@@ -0,0 +1,462 @@
+package com.ravekidd.v1.load;
+
+import com.ravekidd.v1.datasource.AdaptivePoolSizer;
+import com.ravekidd.v1.datasource.ConcurrencyLimitedDataSource;
+import com.ravekidd.v1.security.token.JWTProvider;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.persistence.EntityManagerFactory;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.autoconfigure.graphql.tester.AutoConfigureHttpGraphQlTester;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.graphql.test.tester.HttpGraphQlTester;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.time.format.DateTimeFormatter;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Throughput and latency suite for the /graphql endpoint. Runs against H2 in MySQL mode seeded by
+ * {@link LoadDataGenerator}, and reports the p50/p95/p99 latencies and SQL statements per request of every scenario.
+ * Requests run one at a time, so the Hibernate statistics can be attributed to a single request, except for the
+ * concurrent scenarios comparing the throughput and connection wait time across pool sizes, and between a fixed
+ * pool and one sized by the {@link AdaptivePoolSizer}.
+ * Excluded from the default build; run with {@code mvn -P load test}.
+ */
+@Tag("load")
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureHttpGraphQlTester
+@ActiveProfiles("load")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class GraphQLLoadTest {
+
+    private static final Logger LOG = LogManager.getLogger(GraphQLLoadTest.class);
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm");
+    private static final int CLIENTS = 50;
+    private static final Duration ROUND_TRIP = Duration.ofMillis(5);
+
+    private static final String POST_FIELDS = """
+            id description likeCount commentCount
+            user { id username }
+            likes { totalCount edges { node { id } } }
+            comments { totalCount edges { node { id content user { id } } } }""";
+
+    private static final String GET_POSTS = """
+            query ($query: String, $parameter: String) {
+                getPosts(query: $query, parameter: $parameter) { %s }
+            }""".formatted(POST_FIELDS);
+
+    private static final String LIKE_POST = """
+            mutation ($postId: ID) {
+                likePost(postId: $postId) { id likeCount }
+            }""";
+
+    private static final String ADD_COMMENT = """
+            mutation ($postId: ID, $comment: PostCommentInput) {
+                addComment(postId: $postId, comment: $comment) { id commentCount }
+            }""";
+
+    @Autowired
+    private HttpGraphQlTester graphQlTester;
+
+    @Autowired
+    private JWTProvider jwtProvider;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${ravekidd.load.users}")
+    private int users;
+
+    @Value("${ravekidd.load.posts}")
+    private int posts;
+
+    @Value("${ravekidd.load.likes-per-user}")
+    private int likesPerUser;
+
+    @Value("${ravekidd.load.like-skew}")
+    private double likeSkew;
+
+    @Value("${ravekidd.load.comments-per-post}")
+    private int commentsPerPost;
+
+    @Value("${ravekidd.load.warmup}")
+    private int warmup;
+
+    @Value("${ravekidd.load.requests}")
+    private int requests;
+
+    @Value("${ravekidd.load.concurrency}")
+    private int concurrency;
+
+    @Value("${ravekidd.load.pool-sizes}")
+    private int[] poolSizes;
+
+    private final Random random = new Random(42);
+    private final List<String> report = new ArrayList<>();
+    private List<HttpGraphQlTester> clients;
+    private LoadDataGenerator.ZipfSampler popularity;
+    private Statistics statistics;
+
+    @BeforeAll
+    void seed() {
+
+        new LoadDataGenerator(jdbcTemplate, 42).generate(users, posts, likesPerUser, likeSkew, commentsPerPost);
+
+        clients = IntStream.rangeClosed(1, Math.min(CLIENTS, users))
+                .mapToObj(id -> new UsernamePasswordAuthenticationToken(LoadDataGenerator.username(id), null))
+                .map(authentication -> graphQlTester.mutate()
+                        .header("Authorization", "Bearer " + jwtProvider.generateToken(authentication))
+                        .build())
+                .toList();
+
+        popularity = new LoadDataGenerator.ZipfSampler(posts, likeSkew, random);
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+    }
+
+    @AfterAll
+    void printReport() {
+        LOG.info("GraphQL load test ({} users, {} posts, {} requests per scenario):\n{}",
+                users, posts, requests, String.join("\n", report));
+    }
+
+    @Test
+    @Order(1)
+    void getPostsById() {
+        run("getPosts id", client -> client.document(GET_POSTS)
+                .variable("query", "id")
+                .variable("parameter", randomIds(10, posts))
+                .execute()
+                .errors().verify());
+    }
+
+    @Test
+    @Order(2)
+    void getPostsByUser() {
+        run("getPosts user", client -> client.document(GET_POSTS)
+                .variable("query", "user")
+                .variable("parameter", randomIds(3, users))
+                .execute()
+                .errors().verify());
+    }
+
+    @Test
+    @Order(3)
+    void getPostsByDate() {
+        run("getPosts date", client -> {
+            int from = 1 + random.nextInt(Math.max(1, posts - 50));
+            String dateFrom = LoadDataGenerator.BASE_DATE.minusMinutes(from + 50).format(DATE_FORMAT);
+            String dateTo = LoadDataGenerator.BASE_DATE.minusMinutes(from).format(DATE_FORMAT);
+
+            client.document(GET_POSTS)
+                    .variable("query", "date")
+                    .variable("parameter", dateFrom + " x " + dateTo)
+                    .execute()
+                    .errors().verify();
+        });
+    }
+
+    @Test
+    @Order(4)
+    void likePost() {
+        run("likePost", client -> client.document(LIKE_POST)
+                .variable("postId", popularity.next())
+                .execute()
+                .errors().verify());
+    }
+
+    @Test
+    @Order(5)
+    void addComment() {
+        run("addComment", client -> client.document(ADD_COMMENT)
+                .variable("postId", popularity.next())
+                .variable("comment", Map.of("content", "Load test comment"))
+                .execute()
+                .errors().verify());
+    }
+
+    @Test
+    @Order(6)
+    void getPostsByIdConcurrentlyByPoolSize() throws Exception {
+
+        HikariDataSource hikari = dataSource.unwrap(HikariDataSource.class);
+        int initialSize = hikari.getMaximumPoolSize();
+
+        try {
+            for (int poolSize : poolSizes) {
+                resizePool(hikari, poolSize);
+                runConcurrently("getPosts id, pool " + poolSize, this::getPostsByRandomIds, hikari);
+            }
+        } finally {
+            resizePool(hikari, initialSize);
+        }
+    }
+
+    /**
+     * Compares a fixed pool of the smallest configured size with a pool resized by the {@link AdaptivePoolSizer}.
+     * Against H2 in memory a request never blocks while holding a connection, so the requests of this scenario
+     * hold their connection across a simulated round trip to a remote database instead.
+     */
+    @Test
+    @Order(7)
+    void holdConnectionsConcurrentlyWithAdaptivePoolSizing() throws Exception {
+
+        HikariDataSource hikari = dataSource.unwrap(HikariDataSource.class);
+        int initialSize = hikari.getMaximumPoolSize();
+        int minSize = poolSizes[0];
+        int maxSize = poolSizes[poolSizes.length - 1];
+
+        try {
+            resizePool(hikari, minSize);
+            ConcurrentResult fixed = runConcurrently("round trip, fixed pool " + minSize,
+                    this::holdConnection, hikari);
+
+            AdaptivePoolSizer sizer = new AdaptivePoolSizer(dataSource, meterRegistry, minSize, maxSize, 1.5);
+            ConcurrentResult adaptive;
+
+            try (ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor()) {
+                scheduler.scheduleWithFixedDelay(sizer::sample, 0, 20, TimeUnit.MILLISECONDS);
+                scheduler.scheduleWithFixedDelay(sizer::resize, 200, 200, TimeUnit.MILLISECONDS);
+                adaptive = runConcurrently("round trip, adaptive pool", this::holdConnection, hikari);
+            }
+
+            report.add("adaptive pool sized to " + hikari.getMaximumPoolSize() + " connections");
+
+            assertThat(hikari.getMaximumPoolSize()).isGreaterThan(minSize);
+            assertThat(adaptive.connectionWaitMillis()).isLessThan(fixed.connectionWaitMillis());
+            assertThat(adaptive.throughput()).isGreaterThan(fixed.throughput());
+        } finally {
+            resizePool(hikari, initialSize);
+        }
+    }
+
+    private Consumer<HttpGraphQlTester> getPostsByRandomIds() {
+
+        String ids = randomIds(10, posts);
+
+        return client -> client.document(GET_POSTS)
+                .variable("query", "id")
+                .variable("parameter", ids)
+                .execute()
+                .errors().verify();
+    }
+
+    private Consumer<HttpGraphQlTester> holdConnection() {
+        return client -> {
+            try (Connection connection = dataSource.getConnection();
+                 Statement statement = connection.createStatement()) {
+                statement.execute("SELECT 1");
+                Thread.sleep(ROUND_TRIP.toMillis());
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            }
+        };
+    }
+
+    /**
+     * Resizes the pool and, when running on virtual threads, the semaphore in front of it.
+     *
+     * @param hikari The pool.
+     * @param size   The new maximum size.
+     */
+    private void resizePool(HikariDataSource hikari, int size) throws SQLException {
+
+        hikari.getHikariConfigMXBean().setMaximumPoolSize(size);
+
+        if (dataSource.isWrapperFor(ConcurrencyLimitedDataSource.class)) {
+            dataSource.unwrap(ConcurrencyLimitedDataSource.class).setMaxConnections(size);
+        }
+    }
+
+    /**
+     * Runs a scenario with a random client per request, first the warmup requests and then the measured ones.
+     *
+     * @param name    The name of the scenario.
+     * @param request The request of the scenario.
+     */
+    private void run(String name, Consumer<HttpGraphQlTester> request) {
+
+        for (int i = 0; i < warmup; i++) {
+            request.accept(randomClient());
+        }
+
+        long[] latencies = new long[requests];
+        long[] statements = new long[requests];
+        long started = System.nanoTime();
+
+        for (int i = 0; i < requests; i++) {
+
+            HttpGraphQlTester client = randomClient();
+            long statementsBefore = statistics.getPrepareStatementCount();
+            long start = System.nanoTime();
+
+            request.accept(client);
+
+            latencies[i] = System.nanoTime() - start;
+            statements[i] = statistics.getPrepareStatementCount() - statementsBefore;
+        }
+
+        double seconds = (System.nanoTime() - started) / 1e9;
+        Arrays.sort(latencies);
+        Arrays.sort(statements);
+
+        report.add(String.format("%-14s %8.1f req/s  p50 %7.2f ms  p95 %7.2f ms  p99 %7.2f ms  " +
+                        "statements avg %6.1f  p99 %4d  max %4d",
+                name, requests / seconds,
+                percentile(latencies, 50) / 1e6, percentile(latencies, 95) / 1e6, percentile(latencies, 99) / 1e6,
+                Arrays.stream(statements).average().orElse(0),
+                percentile(statements, 99), statements[statements.length - 1]));
+    }
+
+    /**
+     * Runs a scenario with the configured number of concurrent virtual threads, reporting the throughput,
+     * the latencies and the mean time spent waiting for a pooled connection, including the wait for a permit
+     * of the semaphore in front of the pool.
+     *
+     * @param name    The name of the scenario.
+     * @param factory Factory of the requests, called up front so the requests share no random generator.
+     * @param hikari  The pool serving the requests.
+     * @return The throughput and the mean connection wait of the scenario.
+     */
+    private ConcurrentResult runConcurrently(String name, Supplier<Consumer<HttpGraphQlTester>> factory,
+                                             HikariDataSource hikari) throws Exception {
+
+        List<HttpGraphQlTester> assigned = IntStream.range(0, warmup + requests)
+                .mapToObj(i -> randomClient())
+                .toList();
+        List<Consumer<HttpGraphQlTester>> prepared = IntStream.range(0, warmup + requests)
+                .mapToObj(i -> factory.get())
+                .toList();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            execute(executor, assigned.subList(0, warmup), prepared.subList(0, warmup));
+        }
+
+        Timer acquire = meterRegistry.find("hikaricp.connections.acquire").tag("pool", hikari.getPoolName()).timer();
+        ConcurrencyLimitedDataSource limiter = dataSource.isWrapperFor(ConcurrencyLimitedDataSource.class)
+                ? dataSource.unwrap(ConcurrencyLimitedDataSource.class)
+                : null;
+        long acquiresBefore = acquire == null ? 0 : acquire.count();
+        double acquireMillisBefore = acquire == null ? 0 : acquire.totalTime(TimeUnit.MILLISECONDS);
+        double permitMillisBefore = limiter == null ? 0 : limiter.getAcquireTime(TimeUnit.MILLISECONDS);
+        long started = System.nanoTime();
+        long[] latencies;
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            latencies = execute(executor, assigned.subList(warmup, assigned.size()),
+                    prepared.subList(warmup, prepared.size()));
+        }
+
+        double seconds = (System.nanoTime() - started) / 1e9;
+        long acquires = acquire == null ? 0 : acquire.count() - acquiresBefore;
+        double waitMillis = (acquire == null ? 0 : acquire.totalTime(TimeUnit.MILLISECONDS) - acquireMillisBefore) +
+                (limiter == null ? 0 : limiter.getAcquireTime(TimeUnit.MILLISECONDS) - permitMillisBefore);
+        ConcurrentResult result = new ConcurrentResult(latencies.length / seconds,
+                acquires == 0 ? 0 : waitMillis / acquires);
+        Arrays.sort(latencies);
+
+        report.add(String.format("%-22s %8.1f req/s  p50 %7.2f ms  p95 %7.2f ms  p99 %7.2f ms  " +
+                        "concurrency %d  connection wait avg %6.2f ms",
+                name, result.throughput(),
+                percentile(latencies, 50) / 1e6, percentile(latencies, 95) / 1e6, percentile(latencies, 99) / 1e6,
+                concurrency, result.connectionWaitMillis()));
+
+        return result;
+    }
+
+    /**
+     * Executes the requests with at most the configured number of them in flight.
+     *
+     * @return The latencies of the requests in nanoseconds.
+     */
+    private long[] execute(ExecutorService executor, List<HttpGraphQlTester> clients,
+                           List<Consumer<HttpGraphQlTester>> scenario) throws Exception {
+
+        Semaphore inFlight = new Semaphore(concurrency);
+        List<Future<Long>> futures = new ArrayList<>(scenario.size());
+
+        for (int i = 0; i < scenario.size(); i++) {
+
+            HttpGraphQlTester client = clients.get(i);
+            Consumer<HttpGraphQlTester> request = scenario.get(i);
+
+            inFlight.acquire();
+            futures.add(executor.submit(() -> {
+                try {
+                    long start = System.nanoTime();
+                    request.accept(client);
+                    return System.nanoTime() - start;
+                } finally {
+                    inFlight.release();
+                }
+            }));
+        }
+
+        long[] latencies = new long[futures.size()];
+
+        for (int i = 0; i < latencies.length; i++) {
+            latencies[i] = futures.get(i).get();
+        }
+        return latencies;
+    }
+
+    private HttpGraphQlTester randomClient() {
+        return clients.get(random.nextInt(clients.size()));
+    }
+
+    private String randomIds(int count, int max) {
+        return random.ints(count, 1, max + 1)
+                .mapToObj(String::valueOf)
+                .collect(Collectors.joining(", "));
+    }
+
+    private static long percentile(long[] sorted, int percentile) {
+        int index = (int) Math.ceil(percentile / 100.0 * sorted.length) - 1;
+        return sorted[Math.max(0, index)];
+    }
+
+    private record ConcurrentResult(double throughput, double connectionWaitMillis) {
+    }
+}
@@ -0,0 +1,182 @@
+package com.ravekidd.v1.load;
+
+import com.ravekidd.v1.consts.Constants;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * Seeds an empty database with users, posts, comments and likes for the load tests.
+ * The likes follow a Zipf distribution, so a few posts collect most of the likes like on a real feed.
+ * The generator expects freshly created tables, so the generated IDs run from 1 to the number of rows.
+ */
+public class LoadDataGenerator {
+
+    private static final Logger LOG = LogManager.getLogger(LoadDataGenerator.class);
+    public static final LocalDateTime BASE_DATE = LocalDateTime.of(2024, 1, 1, 12, 0);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Random random;
+
+    /**
+     * Constructor for LoadDataGenerator.
+     *
+     * @param jdbcTemplate The JDBC template of the embedded database.
+     * @param seed         The seed of the random generator, so every run seeds the same data.
+     */
+    public LoadDataGenerator(JdbcTemplate jdbcTemplate, long seed) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.random = new Random(seed);
+    }
+
+    /**
+     * Seeds the database. Post i is published i minutes before the base date.
+     *
+     * @param users           The number of users.
+     * @param posts           The number of posts.
+     * @param likesPerUser    The number of posts liked by every user.
+     * @param likeSkew        The exponent of the Zipf distribution of the likes.
+     * @param commentsPerPost The number of comments of every post.
+     */
+    public void generate(int users, int posts, int likesPerUser, double likeSkew, int commentsPerPost) {
+
+        LOG.info("Seeding {} users and {} posts...", users, posts);
+
+        jdbcTemplate.update("INSERT INTO roles (name) VALUES (?)", Constants.ROLE_USER);
+        Long roleId = jdbcTemplate.queryForObject("SELECT id FROM roles WHERE name = ?", Long.class,
+                Constants.ROLE_USER);
+
+        List<Object[]> userRows = new ArrayList<>(users);
+        List<Object[]> userRoleRows = new ArrayList<>(users);
+
+        for (int i = 1; i <= users; i++) {
+            userRows.add(new Object[]{(long) i, username(i), "default.jpg", "", 0L});
+            userRoleRows.add(new Object[]{(long) i, roleId});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO users (user_id, user_name, image, password, follower_count) " +
+                "VALUES (?, ?, ?, ?, ?)", userRows);
+        jdbcTemplate.batchUpdate("INSERT INTO user_roles (user_id, role_id) VALUES (?, ?)", userRoleRows);
+
+        ZipfSampler popularity = new ZipfSampler(posts, likeSkew, random);
+        List<Object[]> likeRows = new ArrayList<>(users * likesPerUser);
+        long[] likeCounts = new long[posts + 1];
+
+        for (int user = 1; user <= users; user++) {
+
+            Set<Integer> liked = new HashSet<>();
+
+            while (liked.size() < Math.min(likesPerUser, posts)) {
+                liked.add(popularity.next());
+            }
+
+            for (int post : liked) {
+                likeRows.add(new Object[]{(long) post, (long) user});
+                likeCounts[post]++;
+            }
+        }
+
+        List<Object[]> postRows = new ArrayList<>(posts);
+
+        for (int i = 1; i <= posts; i++) {
+            postRows.add(new Object[]{(long) i, randomUser(users), "Post " + i, "https://soundcloud.com/ravekidd/" + i,
+                    Timestamp.valueOf(BASE_DATE.minusMinutes(i)), likeCounts[i], (long) commentsPerPost});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO posts " +
+                "(post_id, user_id, description, link, date, like_count, comment_count) " +
+                "VALUES (?, ?, ?, ?, ?, ?, ?)", postRows);
+        jdbcTemplate.batchUpdate("INSERT INTO post_likes (post_id, user_id) VALUES (?, ?)", likeRows);
+
+        List<Object[]> commentRows = new ArrayList<>(posts * commentsPerPost);
+        long commentId = 0;
+
+        for (int i = 1; i <= posts; i++) {
+            for (int j = 1; j <= commentsPerPost; j++) {
+                commentRows.add(new Object[]{++commentId, (long) i, randomUser(users), "Comment " + j,
+                        Timestamp.valueOf(BASE_DATE.minusMinutes(i).plusSeconds(j)), 0L});
+            }
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO post_comments " +
+                "(comment_id, post_id, user_id, content, date, like_count) " +
+                "VALUES (?, ?, ?, ?, ?, ?)", commentRows);
+
+        // The IDs were inserted explicitly, so the sequences continue above them.
+        restartSequence("users_seq", users);
+        restartSequence("posts_seq", posts);
+        restartSequence("post_comments_seq", commentId);
+
+        LOG.info("Seeded {} likes and {} comments.", likeRows.size(), commentRows.size());
+    }
+
+    /**
+     * Returns the username of the generated user with the given ID.
+     *
+     * @param id The ID of the user.
+     * @return The username of the user.
+     */
+    public static String username(long id) {
+        return "user" + id;
+    }
+
+    /**
+     * Restarts a sequence above the highest inserted ID. The pooled optimizer hands out the
+     * {@link Constants#ID_ALLOCATION_SIZE} IDs below each sequence value, so the sequence skips one allocation.
+     *
+     * @param sequence The name of the sequence.
+     * @param maxId    The highest inserted ID.
+     */
+    private void restartSequence(String sequence, long maxId) {
+        jdbcTemplate.execute("ALTER SEQUENCE %s RESTART WITH %d".formatted(sequence,
+                maxId + Constants.ID_ALLOCATION_SIZE + 1));
+    }
+
+    private long randomUser(int users) {
+        return 1 + random.nextInt(users);
+    }
+
+    /**
+     * Samples post IDs from a Zipf distribution. The popularity ranks are shuffled over the posts,
+     * so the most liked posts are spread over the whole timeline.
+     */
+    static class ZipfSampler {
+
+        private final double[] cumulative;
+        private final int[] postByRank;
+        private final Random random;
+
+        ZipfSampler(int size, double skew, Random random) {
+
+            this.cumulative = new double[size];
+            this.postByRank = new int[size];
+            this.random = random;
+
+            double sum = 0;
+
+            for (int rank = 0; rank < size; rank++) {
+                sum += 1 / Math.pow(rank + 1, skew);
+                cumulative[rank] = sum;
+                postByRank[rank] = rank + 1;
+            }
+
+            for (int rank = 0; rank < size; rank++) {
+                cumulative[rank] /= sum;
+            }
+
+            for (int i = size - 1; i > 0; i--) {
+                int j = random.nextInt(i + 1);
+                int post = postByRank[i];
+                postByRank[i] = postByRank[j];
+                postByRank[j] = post;
+            }
+        }
+
+        int next() {
+            int rank = Arrays.binarySearch(cumulative, random.nextDouble());
+            rank = rank < 0 ? -rank - 1 : rank;
+            return postByRank[Math.min(rank, postByRank.length - 1)];
+        }
+    }
+}
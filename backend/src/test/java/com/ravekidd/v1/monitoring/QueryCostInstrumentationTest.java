@@ -0,0 +1,153 @@
+package com.ravekidd.v1.monitoring;
+
+import com.ravekidd.v1.service.helpers.InputHelper;
+import graphql.ExecutionResult;
+import graphql.GraphQL;
+import graphql.schema.DataFetcher;
+import graphql.schema.GraphQLSchema;
+import graphql.schema.idl.RuntimeWiring;
+import graphql.schema.idl.SchemaGenerator;
+import graphql.schema.idl.SchemaParser;
+import graphql.schema.idl.TypeDefinitionRegistry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static com.ravekidd.v1.consts.Messages.UNSUCCESSFUL_QUERY_COST;
+import static com.ravekidd.v1.consts.Messages.UNSUCCESSFUL_QUERY_DEPTH;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Depth and cost ceilings of the GraphQL operations, checked against the application schema.
+ * Every field resolved by a controller is backed by a data fetcher recording its calls,
+ * so an operation rejected before execution leaves no call behind.
+ * The ceilings are lowered to keep the queries short.
+ */
+class QueryCostInstrumentationTest {
+
+    private static final int MAX_DEPTH = 6;
+    private static final long MAX_COST = 100;
+
+    // Depth 7, cost 1 + 20 pages of posts.
+    private static final String DEEP_QUERY = """
+            query {
+                getUsersConnection { edges { node { posts { edges { node { id } } } } } }
+            }""";
+
+    // Depth 5, cost 1 + 100 pages of likes.
+    private static final String COSTLY_QUERY = """
+            query {
+                getPostsConnection(first: 100) { edges { node { likes(first: 1) { totalCount } } } }
+            }""";
+
+    private static final String CHEAP_QUERY = """
+            query {
+                getPostsConnection(first: 1) { totalCount }
+            }""";
+
+    private final List<String> fetched = new CopyOnWriteArrayList<>();
+    private MeterRegistry meterRegistry;
+    private GraphQL graphQL;
+
+    @BeforeEach
+    void setUp() throws IOException {
+
+        meterRegistry = new SimpleMeterRegistry();
+        QueryCostInstrumentation instrumentation = new QueryCostInstrumentation(meterRegistry, new InputHelper(),
+                new QueryCostProperties(MAX_DEPTH, MAX_COST, 1, Map.of()));
+
+        graphQL = GraphQL.newGraphQL(schema())
+                .instrumentation(instrumentation)
+                .build();
+    }
+
+    @Test
+    void rejectsQueryOverMaxDepth() {
+
+        ExecutionResult result = graphQL.execute(DEEP_QUERY);
+
+        assertThat(result.getErrors()).singleElement()
+                .satisfies(error -> assertThat(error.getMessage())
+                        .isEqualTo(UNSUCCESSFUL_QUERY_DEPTH.get().formatted(MAX_DEPTH)));
+        assertThat(fetched).isEmpty();
+        assertThat(rejected("DEPTH")).isEqualTo(1);
+    }
+
+    @Test
+    void rejectsQueryOverMaxCost() {
+
+        ExecutionResult result = graphQL.execute(COSTLY_QUERY);
+
+        assertThat(result.getErrors()).singleElement()
+                .satisfies(error -> assertThat(error.getMessage())
+                        .isEqualTo(UNSUCCESSFUL_QUERY_COST.get().formatted(101, MAX_COST)));
+        assertThat(fetched).isEmpty();
+        assertThat(rejected("COST")).isEqualTo(1);
+    }
+
+    @Test
+    void executesQueryWithinCeilings() {
+
+        ExecutionResult result = graphQL.execute(CHEAP_QUERY);
+
+        assertThat(result.getErrors()).isEmpty();
+        assertThat(fetched).containsExactly("Query.getPostsConnection");
+        assertThat(meterRegistry.find("ravekidd.graphql.operation.rejected").counter()).isNull();
+    }
+
+    private double rejected(String reason) {
+        return meterRegistry.get("ravekidd.graphql.operation.rejected").tag("reason", reason).counter().count();
+    }
+
+    /**
+     * Builds the application schema, wiring the root queries and the fields resolved by the field controllers
+     * to data fetchers recording their calls and returning null.
+     *
+     * @return The schema.
+     * @throws IOException If a schema file cannot be read.
+     */
+    private GraphQLSchema schema() throws IOException {
+
+        TypeDefinitionRegistry registry = new TypeDefinitionRegistry();
+        SchemaParser parser = new SchemaParser();
+
+        for (Resource resource : new PathMatchingResourcePatternResolver()
+                .getResources("classpath*:graphql/**/*.graphqls")) {
+            try (Reader reader = new InputStreamReader(resource.getInputStream(), StandardCharsets.UTF_8)) {
+                registry.merge(parser.parse(reader));
+            }
+        }
+
+        RuntimeWiring wiring = RuntimeWiring.newRuntimeWiring()
+                .type("Query", type -> type.defaultDataFetcher(recording("Query")))
+                .type("Post", type -> type
+                        .dataFetcher("user", recording("Post.user"))
+                        .dataFetcher("likes", recording("Post.likes"))
+                        .dataFetcher("comments", recording("Post.comments")))
+                .type("PostComment", type -> type
+                        .dataFetcher("user", recording("PostComment.user"))
+                        .dataFetcher("likes", recording("PostComment.likes")))
+                .type("User", type -> type.dataFetcher("posts", recording("User.posts")))
+                .build();
+
+        return new SchemaGenerator().makeExecutableSchema(registry, wiring);
+    }
+
+    private DataFetcher<Object> recording(String coordinates) {
+        return env -> {
+            fetched.add(coordinates.contains(".") ? coordinates : coordinates + "." + env.getField().getName());
+            return null;
+        };
+    }
+}
@@ -0,0 +1,57 @@
+package com.ravekidd.v1.service.media;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Parsing of the meta tags of provider pages, without network access.
+ */
+class HttpLinkMetadataFetcherTest {
+
+    private final HttpLinkMetadataFetcher fetcher = new HttpLinkMetadataFetcher(new ObjectMapper(),
+            Duration.ofSeconds(1));
+
+    @Test
+    void parsesPropertyNameAndItempropTags() {
+
+        Map<String, String> tags = fetcher.parseMetaTags("""
+                <head>
+                  <META PROPERTY="og:title" content="Track, by Artist">
+                  <meta content='Artist' property='og:site_name' />
+                  <meta name="music:duration" content="300">
+                  <meta itemprop="duration" content="PT5M">
+                </head>""");
+
+        assertThat(tags).containsOnly(
+                Map.entry("og:title", "Track, by Artist"),
+                Map.entry("og:site_name", "Artist"),
+                Map.entry("music:duration", "300"),
+                Map.entry("duration", "PT5M"));
+    }
+
+    @Test
+    void unescapesAndTrimsContent() {
+
+        Map<String, String> tags = fetcher.parseMetaTags(
+                "<meta property=\"og:title\" content=\"  Drum &amp; Bass &#39;Live&#39;  \">");
+
+        assertThat(tags).containsEntry("og:title", "Drum & Bass 'Live'");
+    }
+
+    @Test
+    void keepsTheFirstOccurrenceAndSkipsBlankContent() {
+
+        Map<String, String> tags = fetcher.parseMetaTags("""
+                <meta property="og:image" content=" ">
+                <meta property="og:image" content="https://i1.sndcdn.com/first.jpg">
+                <meta property="og:image" content="https://i1.sndcdn.com/second.jpg">
+                <meta charset="utf-8">""");
+
+        assertThat(tags).containsOnly(Map.entry("og:image", "https://i1.sndcdn.com/first.jpg"));
+    }
+}
@@ -0,0 +1,157 @@
+package com.ravekidd.v1.service.media;
+
+import com.ravekidd.v1.model.PostLinkMetadata;
+import com.ravekidd.v1.service.repositories.PostLinkMetadataRepository;
+import com.ravekidd.v1.service.repositories.PostRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Normalization of post links and deduplication of their fetches. The repositories are mocked and the provider
+ * is replaced by a stub fetcher recording its requests.
+ */
+class LinkMetadataServiceTest {
+
+    private static final String TRACK = "https://soundcloud.com/artist/track";
+
+    private final List<URI> fetched = new CopyOnWriteArrayList<>();
+    private PostRepository postRepository;
+    private PostLinkMetadataRepository postLinkMetadataRepository;
+    private LinkMetadataFetcher fetcher;
+
+    @BeforeEach
+    void setUp() {
+        postRepository = mock(PostRepository.class);
+        postLinkMetadataRepository = mock(PostLinkMetadataRepository.class);
+        when(postLinkMetadataRepository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        fetcher = (link, provider) -> {
+            fetched.add(link);
+            return new LinkMetadata(PostLinkMetadata.Status.RESOLVED, provider, "Track", "Artist", null, 300);
+        };
+    }
+
+    @Test
+    void normalizeStripsTrackingAndHostVariants() {
+
+        LinkMetadataService service = service(Duration.ofMinutes(10));
+
+        assertThat(service.normalize("soundcloud.com/artist/track?si=abc#t=1:00")).contains(URI.create(TRACK));
+        assertThat(service.normalize(" http://www.SoundCloud.com/artist/track/ ")).contains(URI.create(TRACK));
+        assertThat(service.normalize("https://m.soundcloud.com/artist/track")).contains(URI.create(TRACK));
+        assertThat(service.normalize("https://artist.bandcamp.com/track/name"))
+                .contains(URI.create("https://artist.bandcamp.com/track/name"));
+    }
+
+    @Test
+    void normalizeRejectsUnsupportedLinks() {
+
+        LinkMetadataService service = service(Duration.ofMinutes(10));
+
+        assertThat(service.normalize(null)).isEmpty();
+        assertThat(service.normalize(" ")).isEmpty();
+        assertThat(service.normalize("https://example.com/artist/track")).isEmpty();
+        assertThat(service.normalize("https://notsoundcloud.com/artist/track")).isEmpty();
+        assertThat(service.normalize("ftp://soundcloud.com/artist/track")).isEmpty();
+        assertThat(service.normalize("soundcloud.com/artist/a track")).isEmpty();
+    }
+
+    @Test
+    void refreshFetchesEquivalentLinksOnce() {
+
+        LinkMetadataService service = service(Duration.ofMinutes(10));
+        link(1L, TRACK + "?si=abc");
+        link(2L, "https://www.soundcloud.com/artist/track/");
+
+        service.refresh(1L);
+        service.refresh(2L);
+
+        assertThat(fetched).containsExactly(URI.create(TRACK));
+    }
+
+    @Test
+    void concurrentRefreshesJoinThePendingFetch() throws Exception {
+
+        CountDownLatch fetching = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        LinkMetadataFetcher stub = fetcher;
+        fetcher = (link, provider) -> {
+            fetching.countDown();
+            await(release);
+            return stub.fetch(link, provider);
+        };
+
+        LinkMetadataService service = service(Duration.ofMinutes(10));
+        link(1L, TRACK);
+        link(2L, TRACK);
+
+        Thread first = new Thread(() -> service.refresh(1L));
+        first.start();
+        assertThat(fetching.await(5, TimeUnit.SECONDS)).isTrue();
+
+        Thread second = new Thread(() -> service.refresh(2L));
+        second.start();
+
+        // The second refresh parks on the future of the first one.
+        while (second.getState() != Thread.State.WAITING && second.isAlive()) {
+            Thread.onSpinWait();
+        }
+        release.countDown();
+        first.join(5000);
+        second.join(5000);
+
+        assertThat(fetched).containsExactly(URI.create(TRACK));
+    }
+
+    @Test
+    void failuresAreCachedForTheFailureTtl() {
+
+        fetcher = (link, provider) -> {
+            fetched.add(link);
+            throw new IOException("Provider unavailable.");
+        };
+        link(1L, TRACK);
+
+        LinkMetadataService cached = service(Duration.ofMinutes(10));
+        cached.refresh(1L);
+        cached.refresh(1L);
+        assertThat(fetched).hasSize(1);
+
+        fetched.clear();
+        LinkMetadataService expired = service(Duration.ZERO);
+        expired.refresh(1L);
+        expired.refresh(1L);
+        assertThat(fetched).hasSize(2);
+    }
+
+    private LinkMetadataService service(Duration failureTtl) {
+        return new LinkMetadataService(postRepository, postLinkMetadataRepository, fetcher, 100,
+                Duration.ofDays(7), failureTtl, Duration.ZERO);
+    }
+
+    private void link(Long postId, String link) {
+        when(postRepository.findLinkById(postId)).thenReturn(Optional.of(link));
+    }
+
+    private static void await(CountDownLatch latch) throws IOException {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new IOException(exception);
+        }
+    }
+}
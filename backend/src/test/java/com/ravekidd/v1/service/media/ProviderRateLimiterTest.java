@@ -0,0 +1,40 @@
+package com.ravekidd.v1.service.media;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Spacing of the requests to each provider.
+ */
+class ProviderRateLimiterTest {
+
+    private static final Duration INTERVAL = Duration.ofMillis(100);
+
+    @Test
+    void spacesRequestsToTheSameProvider() throws InterruptedException {
+
+        ProviderRateLimiter rateLimiter = new ProviderRateLimiter(INTERVAL);
+        long start = System.nanoTime();
+
+        for (int i = 0; i < 3; i++) {
+            rateLimiter.acquire(LinkProvider.SOUNDCLOUD);
+        }
+
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isGreaterThanOrEqualTo(INTERVAL.multipliedBy(2));
+    }
+
+    @Test
+    void doesNotDelayOtherProviders() throws InterruptedException {
+
+        ProviderRateLimiter rateLimiter = new ProviderRateLimiter(Duration.ofMinutes(1));
+        rateLimiter.acquire(LinkProvider.SOUNDCLOUD);
+        long start = System.nanoTime();
+
+        rateLimiter.acquire(LinkProvider.BANDCAMP);
+
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(30));
+    }
+}
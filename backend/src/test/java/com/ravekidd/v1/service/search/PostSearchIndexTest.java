@@ -0,0 +1,101 @@
+package com.ravekidd.v1.service.search;
+
+import com.ravekidd.v1.model.connection.SearchCursor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Matching, ranking and paging of the search index, over an index in a temporary directory.
+ */
+class PostSearchIndexTest {
+
+    @TempDir
+    Path indexPath;
+
+    private PostSearchIndex index;
+
+    @BeforeEach
+    void openIndex() throws IOException {
+        index = new PostSearchIndex(indexPath);
+    }
+
+    @AfterEach
+    void closeIndex() throws IOException {
+        index.destroy();
+    }
+
+    @Test
+    void exactMatchRanksAboveFuzzyMatch() throws IOException {
+
+        index(post(1L, "late night tekno set"), post(2L, "late night techno set"));
+
+        List<SearchHit> hits = index.search("techno", 10, null);
+
+        assertThat(hits).extracting(SearchHit::postId).containsExactly(2L, 1L);
+        assertThat(hits.get(0).score()).isGreaterThan(hits.get(1).score());
+    }
+
+    @Test
+    void lastTermMatchesAsPrefix() throws IOException {
+
+        index(post(1L, "melodic house"), post(2L, "deep house"));
+
+        assertThat(index.search("house melo", 10, null)).extracting(SearchHit::postId).containsExactly(1L);
+        assertThat(index.search("melo house", 10, null)).isEmpty();
+    }
+
+    @Test
+    void typosOfUpToTwoEditsMatch() throws IOException {
+
+        index(post(1L, "closing set at berghain"));
+
+        assertThat(index.search("bergain", 10, null)).extracting(SearchHit::postId).containsExactly(1L);
+        assertThat(index.search("bergan", 10, null)).extracting(SearchHit::postId).containsExactly(1L);
+        assertThat(index.search("brgan", 10, null)).isEmpty();
+    }
+
+    @Test
+    void pagesNeitherSkipNorRepeatHits() throws IOException {
+
+        // Posts with equal scores are ordered by ID, the others by score first.
+        for (long id = 1; id <= 25; id++) {
+            index(post(id, id % 3 == 0 ? "techno techno night" : "techno night"));
+        }
+
+        List<Long> ids = new ArrayList<>();
+        SearchCursor after = null;
+        List<SearchHit> page;
+
+        do {
+            page = index.search("techno", 10, after);
+            page.forEach(hit -> ids.add(hit.postId()));
+
+            if (!page.isEmpty()) {
+                SearchHit last = page.get(page.size() - 1);
+                after = new SearchCursor(last.score(), last.postId());
+            }
+        } while (page.size() == 10);
+
+        assertThat(ids).doesNotHaveDuplicates()
+                .containsExactlyInAnyOrderElementsOf(LongStream.rangeClosed(1, 25).boxed().toList());
+        assertThat(ids).isEqualTo(index.search("techno", 25, null).stream().map(SearchHit::postId).toList());
+    }
+
+    private void index(PostDocument... documents) throws IOException {
+        index.index(List.of(documents));
+    }
+
+    private static PostDocument post(Long id, String description) {
+        return new PostDocument(id, description, null, 1L, "dj");
+    }
+}
@@ -0,0 +1,187 @@
+package com.ravekidd.v1.service.services;
+
+import com.ravekidd.v1.consts.Constants;
+import com.ravekidd.v1.exception.ServerException;
+import com.ravekidd.v1.load.LoadDataGenerator;
+import com.ravekidd.v1.model.Post;
+import com.ravekidd.v1.model.PostComment;
+import com.ravekidd.v1.monitoring.QueryStatistics;
+import com.ravekidd.v1.service.interfaces.IPostService;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.function.Executable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Statement budgets of the post mutations. A mutation runs on the test thread with bound {@link QueryStatistics},
+ * so the statements it executes on its connections are counted, but not those of the asynchronous listeners
+ * it triggers. A mutation exceeding its budget loads more of the entity graph than it needs.
+ * Runs against its own H2 database in MySQL mode, seeded by {@link LoadDataGenerator}.
+ */
+@SpringBootTest
+@ActiveProfiles("load")
+@TestPropertySource(properties =
+        "spring.datasource.url=jdbc:h2:mem:statements;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class PostServiceStatementTest {
+
+    private static final int USERS = 20;
+    private static final int POSTS = 50;
+    private static final int LIKES_PER_USER = 5;
+    private static final int COMMENTS_PER_POST = 3;
+
+    @Autowired
+    private IPostService postService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Authentication authentication;
+
+    @BeforeAll
+    void seed() {
+
+        new LoadDataGenerator(jdbcTemplate, 42).generate(USERS, POSTS, LIKES_PER_USER, 1.1, COMMENTS_PER_POST);
+        authentication = new UsernamePasswordAuthenticationToken(LoadDataGenerator.username(1), null,
+                List.of(new SimpleGrantedAuthority(Constants.ROLE_USER)));
+    }
+
+    @Test
+    void createPost() throws Throwable {
+        // User with roles, the lookup of the new post by merge, up to two sequence calls and the insert.
+        assertBudget("createPost", 6, () -> postService.createPost(newPost(), authentication));
+    }
+
+    @Test
+    void updatePost() throws Throwable {
+
+        Long postId = postService.createPost(newPost(), authentication).getId();
+        Post update = newPost();
+        update.setId(postId);
+        update.setDescription("Updated");
+
+        // Post, user with roles and the update.
+        assertBudget("updatePost", 4, () -> postService.updatePost(update, authentication));
+    }
+
+    @Test
+    void deletePost() throws Throwable {
+
+        Long postId = postService.createPost(newPost(), authentication).getId();
+        postService.addComment(postId, newComment(), authentication);
+
+        // Post, user with roles, timeline entries, the post again after the timeline delete cleared the context,
+        // the comments, and the deletes of the likes and comments of the comments, the likes and the post.
+        assertBudget("deletePost", 12, () -> postService.deletePost(postId, authentication));
+    }
+
+    @Test
+    void likeAndUnlikePost() throws Throwable {
+
+        Long postId = postService.createPost(newPost(), authentication).getId();
+
+        // User ID, existence of the post, the like, the counter and the returned post.
+        assertBudget("likePost", 5, () -> postService.likePost(postId, authentication));
+        assertBudget("unlikePost", 5, () -> postService.unlikePost(postId, authentication));
+    }
+
+    @Test
+    void likePostsInBulk() throws Throwable {
+
+        Long likedId = postService.createPost(newPost(), authentication).getId();
+        Long postId = postService.createPost(newPost(), authentication).getId();
+        postService.likePost(likedId, authentication);
+
+        // User ID, existing posts, posts already liked, the batches of likes and of counters.
+        assertBudget("likePosts", 5, () -> postService.likePosts(List.of(likedId, postId, postId), authentication));
+
+        assertThat(jdbcTemplate.queryForList("SELECT like_count FROM posts WHERE post_id IN (?, ?)", Long.class,
+                likedId, postId)).containsExactly(1L, 1L);
+    }
+
+    @Test
+    void addComment() throws Throwable {
+        // Post, user with roles, up to two sequence calls, the insert, the counter and the returned post.
+        assertBudget("addComment", 8, () -> postService.addComment(1L, newComment(), authentication));
+    }
+
+    @Test
+    void updateAndDeleteComment() throws Throwable {
+
+        Long commentId = addOwnComment(2L);
+        PostComment update = newComment();
+        update.setId(commentId);
+        update.setContent("Updated");
+
+        // User ID, the update and the returned post.
+        assertBudget("updateComment", 3, () -> postService.updateComment(2L, update, authentication));
+
+        // User ID, the likes of the comment, the comment, the counter and the returned post.
+        assertBudget("deleteComment", 5, () -> postService.deleteComment(2L, commentId, authentication));
+    }
+
+    @Test
+    void likeAndUnlikeComment() throws Throwable {
+
+        Long commentId = addOwnComment(3L);
+
+        // User ID, existence of the comment, the like, the counter and the returned post.
+        assertBudget("likeComment", 5, () -> postService.likeComment(3L, commentId, authentication));
+        assertBudget("unlikeComment", 5, () -> postService.unlikeComment(3L, commentId, authentication));
+    }
+
+    /**
+     * Runs a mutation with bound statistics and checks the number of statements it executed.
+     *
+     * @param mutation The name of the mutation.
+     * @param budget   The maximum number of statements.
+     * @param call     The call of the mutation.
+     * @throws Throwable If the mutation fails.
+     */
+    private void assertBudget(String mutation, int budget, Executable call) throws Throwable {
+
+        QueryStatistics statistics = new QueryStatistics();
+        Runnable restore = statistics.bind(null);
+
+        try {
+            call.execute();
+        } finally {
+            restore.run();
+        }
+
+        assertThat(statistics.getStatements())
+                .as("Statements of %s", mutation)
+                .isPositive()
+                .isLessThanOrEqualTo(budget);
+    }
+
+    private Long addOwnComment(Long postId) throws ServerException {
+
+        postService.addComment(postId, newComment(), authentication);
+        return jdbcTemplate.queryForObject(
+                "SELECT MAX(comment_id) FROM post_comments WHERE post_id = ? AND user_id = ?", Long.class, postId, 1L);
+    }
+
+    private static Post newPost() {
+        return new Post(null, "Statement test", "https://soundcloud.com/ravekidd/statements", null);
+    }
+
+    private static PostComment newComment() {
+
+        PostComment comment = new PostComment();
+        comment.setContent("Statement test");
+        return comment;
+    }
+}